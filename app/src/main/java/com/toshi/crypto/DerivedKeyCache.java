@@ -0,0 +1,135 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.toshi.crypto;
+
+
+import android.content.SharedPreferences;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.toshi.crypto.keyStore.KeyStoreHandler;
+import com.toshi.crypto.util.HexCodec;
+import com.toshi.exception.KeyStoreException;
+import com.toshi.util.logging.LogUtil;
+import com.toshi.view.BaseApplication;
+
+import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.toshi.crypto.util.HashUtil.sha3;
+
+/**
+ * Keeps the private keys derived from the master seed, encrypted with the Android KeyStore like the
+ * seed itself, so a cold start doesn't have to run PBKDF2 and the BIP32 derivations again.
+ *
+ * <p>Keys are stored by name together with a hash of the seed they were derived from, and are only
+ * returned for that seed. KeyStoreHandler encrypts with a fixed IV, so the KeyStore key is replaced
+ * before every write and never encrypts two different plaintexts. Below API 23 KeyStoreHandler
+ * stores data unencrypted, which exposes nothing the stored seed doesn't already.</p>
+ */
+/* package */ class DerivedKeyCache {
+
+    private static final String ALIAS = "DerivedKeysAlias";
+    private static final String DERIVED_KEYS = "dk";
+    private static final String VERSION = "v1";
+    private static final String SEED = "seed";
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final SharedPreferences prefs;
+
+    /* package */ DerivedKeyCache(@NonNull final SharedPreferences prefs) {
+        this.prefs = prefs;
+    }
+
+    // Returns null when nothing usable is cached; reading never fails, the caller derives the keys instead
+    @Nullable
+    /* package */ Map<String, byte[]> read(@NonNull final String masterSeed) {
+        try {
+            final String encryptedKeys = this.prefs.getString(DERIVED_KEYS, null);
+            if (encryptedKeys == null) return null;
+            final String keys = getKeyStoreHandler().decrypt(encryptedKeys, this::save);
+            return parse(keys, getSeedHash(masterSeed));
+        } catch (final Exception e) {
+            LogUtil.exception("Error while reading derived keys", e);
+            return null;
+        }
+    }
+
+    /* package */ void write(@NonNull final String masterSeed, @NonNull final Map<String, byte[]> keys) {
+        try {
+            deleteKeyStoreKey();
+            final String encryptedKeys = getKeyStoreHandler().encrypt(format(keys, getSeedHash(masterSeed)));
+            save(encryptedKeys);
+        } catch (final Exception e) {
+            LogUtil.exception("Error while caching derived keys", e);
+        }
+    }
+
+    /* package */ void clear() {
+        try {
+            deleteKeyStoreKey();
+        } catch (final Exception e) {
+            LogUtil.exception("Error while deleting derived keys", e);
+        }
+    }
+
+    private void save(final String encryptedKeys) {
+        this.prefs.edit()
+                .putString(DERIVED_KEYS, encryptedKeys)
+                .apply();
+    }
+
+    private KeyStoreHandler getKeyStoreHandler() throws KeyStoreException {
+        return new KeyStoreHandler(BaseApplication.get(), ALIAS);
+    }
+
+    private void deleteKeyStoreKey() throws KeyStoreException {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) return;
+        getKeyStoreHandler().delete(ALIAS);
+    }
+
+    private static String getSeedHash(final String masterSeed) {
+        return HexCodec.encode(sha3(masterSeed.getBytes(UTF_8)));
+    }
+
+    // One entry per line: the version, the seed hash and then name=private key
+    /* package */ static String format(final Map<String, byte[]> keys, final String seedHash) {
+        final StringBuilder sb = new StringBuilder(VERSION)
+                .append('\n').append(SEED).append('=').append(seedHash);
+        for (final Map.Entry<String, byte[]> key : keys.entrySet()) {
+            sb.append('\n').append(key.getKey()).append('=').append(HexCodec.encode(key.getValue()));
+        }
+        return sb.toString();
+    }
+
+    @Nullable
+    /* package */ static Map<String, byte[]> parse(final String cachedKeys, final String seedHash) {
+        final String[] lines = cachedKeys.split("\n");
+        if (lines.length < 2 || !lines[0].equals(VERSION)) return null;
+        if (!lines[1].equals(SEED + "=" + seedHash)) return null;
+
+        final Map<String, byte[]> keys = new LinkedHashMap<>();
+        for (int i = 2; i < lines.length; i++) {
+            final int separator = lines[i].indexOf('=');
+            if (separator <= 0) return null;
+            keys.put(lines[i].substring(0, separator), HexCodec.decode(lines[i].substring(separator + 1)));
+        }
+        return keys;
+    }
+}
@@ -25,9 +25,8 @@ import com.toshi.crypto.jce.ECKeyFactory;
 import com.toshi.crypto.jce.ECKeyPairGenerator;
 import com.toshi.crypto.jce.ECSignatureFactory;
 import com.toshi.crypto.jce.SpongyCastleProvider;
-import com.toshi.crypto.util.ByteUtil;
 import com.toshi.crypto.util.HashUtil;
-import com.toshi.crypto.util.TypeConverter;
+import com.toshi.crypto.util.HexCodec;
 
 import org.spongycastle.asn1.ASN1InputStream;
 import org.spongycastle.asn1.ASN1Integer;
@@ -54,6 +53,7 @@ import org.spongycastle.jce.spec.ECPrivateKeySpec;
 import org.spongycastle.jce.spec.ECPublicKeySpec;
 import org.spongycastle.math.ec.ECAlgorithms;
 import org.spongycastle.math.ec.ECCurve;
+import org.spongycastle.math.ec.ECMultiplier;
 import org.spongycastle.math.ec.ECPoint;
 import org.spongycastle.util.BigIntegers;
 import org.spongycastle.util.encoders.Base64;
@@ -98,6 +98,8 @@ public class ECKey implements Serializable {
     public static final BigInteger HALF_CURVE_ORDER;
 
     private static final SecureRandom secureRandom;
+    // Used for every multiplication of the generator
+    private static final FixedBaseMultiplier BASE_POINT_MULTIPLIER;
     private static final long serialVersionUID = -728224901792295832L;
 
     static {
@@ -106,6 +108,7 @@ public class ECKey implements Serializable {
         CURVE = new ECDomainParameters(params.getCurve(), params.getG(), params.getN(), params.getH());
         CURVE_SPEC = new ECParameterSpec(params.getCurve(), params.getG(), params.getN(), params.getH());
         HALF_CURVE_ORDER = params.getN().shiftRight(1);
+        BASE_POINT_MULTIPLIER = new FixedBaseMultiplier(params.getG(), params.getN().bitLength());
         secureRandom = new SecureRandom();
     }
 
@@ -278,7 +281,7 @@ public class ECKey implements Serializable {
      * @return  -
      */
     public static ECKey fromPrivate(BigInteger privKey) {
-        return new ECKey(privKey, CURVE.getG().multiply(privKey));
+        return new ECKey(privKey, BASE_POINT_MULTIPLIER.multiply(privKey).normalize());
     }
 
     /**
@@ -396,7 +399,7 @@ public class ECKey implements Serializable {
      * @return -
      */
     public static byte[] publicKeyFromPrivate(BigInteger privKey, boolean compressed) {
-        ECPoint point = CURVE.getG().multiply(privKey);
+        ECPoint point = BASE_POINT_MULTIPLIER.multiply(privKey);
         return point.getEncoded(compressed);
     }
 
@@ -667,19 +670,20 @@ public class ECKey implements Serializable {
                     ? (byte) (this.v - 27)
                     :this.v;
 
-            final String hexR = ByteUtil.toZeroPaddedHexString(ByteUtil.bigIntegerToBytes(this.r), 64);
-            final String hexS = ByteUtil.toZeroPaddedHexString(ByteUtil.bigIntegerToBytes(this.s), 64);
-            final String hexV = ByteUtil.toHexString(new byte[]{fixedV});
-
-            return TypeConverter.toJsonHex(hexR + hexS + hexV);
+            return toHex(fixedV);
         }
 
         public String toHexWithNoMinus27() {
-            final String hexR = ByteUtil.toZeroPaddedHexString(ByteUtil.bigIntegerToBytes(this.r), 64);
-            final String hexS = ByteUtil.toZeroPaddedHexString(ByteUtil.bigIntegerToBytes(this.s), 64);
-            final String hexV = ByteUtil.toHexString(new byte[]{this.v});
+            return toHex(this.v);
+        }
 
-            return TypeConverter.toJsonHex(hexR + hexS + hexV);
+        // 0x, then r and s as 32 bytes each and v as one byte
+        private String toHex(final byte v) {
+            final byte[] signature = new byte[65];
+            System.arraycopy(bigIntegerToBytes(this.r, 32), 0, signature, 0, 32);
+            System.arraycopy(bigIntegerToBytes(this.s, 32), 0, signature, 32, 32);
+            signature[64] = v;
+            return HexCodec.encode(signature, true);
         }
     }
 
@@ -698,7 +702,12 @@ public class ECKey implements Serializable {
         if (privKey == null)
             throw new MissingPrivateKeyException();
         if (privKey instanceof BCECPrivateKey) {
-            ECDSASigner signer = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest()));
+            ECDSASigner signer = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest())) {
+                @Override
+                protected ECMultiplier createBasePointMultiplier() {
+                    return BASE_POINT_MULTIPLIER;
+                }
+            };
             ECPrivateKeyParameters privKeyParams = new ECPrivateKeyParameters(((BCECPrivateKey) privKey).getD(), CURVE);
             signer.init(true, privKeyParams);
             BigInteger[] components = signer.generateSignature(input);
@@ -725,21 +734,67 @@ public class ECKey implements Serializable {
      * @throws IllegalStateException if this ECKey does not have the private part.
      */
     public ECDSASignature sign(byte[] messageHash) {
+        if (privKey instanceof BCECPrivateKey) {
+            return signRecoverable(messageHash, ((BCECPrivateKey) privKey).getD());
+        }
+        // The provider doesn't expose the nonce point, so work backwards to find the recId.
         ECDSASignature sig = doSign(messageHash);
-        // Now we have to work backwards to figure out the recId needed to recover the signature.
-        int recId = -1;
+        sig.v = (byte) (findRecIdByRecovery(sig, messageHash) + 27);
+        return sig;
+    }
+
+    /**
+     * Deterministic (RFC 6979) ECDSA signing, as done by {@link ECDSASigner} in {@link #doSign(byte[])},
+     * but keeping hold of the nonce point R. The recovery id is the parity of R.y, plus 2 if R.x
+     * overflowed the curve order, so no public key recoveries are needed to find it.
+     *
+     * @param messageHash 32 byte hash to sign
+     * @param priv private key
+     * @return canonicalised signature with v set
+     */
+    private static ECDSASignature signRecoverable(byte[] messageHash, BigInteger priv) {
+        if (messageHash.length != 32) {
+            throw new IllegalArgumentException("Expected 32 byte input to ECDSA signature, not " + messageHash.length);
+        }
+        final BigInteger n = CURVE.getN();
+        final BigInteger e = new BigInteger(1, messageHash);
+        final HMacDSAKCalculator kCalculator = new HMacDSAKCalculator(new SHA256Digest());
+        kCalculator.init(n, priv, messageHash);
+
+        ECPoint point;
+        BigInteger r, s;
+        do {
+            BigInteger k;
+            do {
+                k = kCalculator.nextK();
+                point = BASE_POINT_MULTIPLIER.multiply(k).normalize();
+                r = point.getAffineXCoord().toBigInteger().mod(n);
+            } while (r.signum() == 0);
+            s = k.modInverse(n).multiply(e.add(priv.multiply(r))).mod(n);
+        } while (s.signum() == 0);
+
+        int recId = point.getAffineYCoord().toBigInteger().testBit(0) ? 1 : 0;
+        if (point.getAffineXCoord().toBigInteger().compareTo(n) >= 0) recId |= 2;
+        if (s.compareTo(HALF_CURVE_ORDER) > 0) {
+            // (r, n - s) is the signature for -R, which has the opposite y parity
+            s = n.subtract(s);
+            recId ^= 1;
+        }
+
+        final ECDSASignature sig = new ECDSASignature(r, s);
+        sig.v = (byte) (recId + 27);
+        return sig;
+    }
+
+    private int findRecIdByRecovery(ECDSASignature sig, byte[] messageHash) {
         byte[] thisKey = this.pub.getEncoded(/* compressed */ false);
         for (int i = 0; i < 4; i++) {
             byte[] k = ECKey.recoverPubBytesFromSignature(i, sig, messageHash);
             if (k != null && Arrays.equals(k, thisKey)) {
-                recId = i;
-                break;
+                return i;
             }
         }
-        if (recId == -1)
-            throw new RuntimeException("Could not construct a recoverable key. This should never happen.");
-        sig.v = (byte) (recId + 27);
-        return sig;
+        throw new RuntimeException("Could not construct a recoverable key. This should never happen.");
     }
 
 
@@ -1017,6 +1072,13 @@ public class ECKey implements Serializable {
      */
     @Nullable
     public static byte[] recoverPubBytesFromSignature(int recId, ECDSASignature sig, byte[] messageHash) {
+        final ECPoint q = recoverPubPointFromSignature(recId, sig, messageHash);
+        return q == null ? null : q.getEncoded(/* compressed */ false);
+    }
+
+    // As recoverPubBytesFromSignature, without encoding the point
+    @Nullable
+    /* package */ static ECPoint recoverPubPointFromSignature(int recId, ECDSASignature sig, byte[] messageHash) {
         check(recId >= 0, "recId must be positive");
         check(sig.r.signum() >= 0, "r must be positive");
         check(sig.s.signum() >= 0, "s must be positive");
@@ -1043,7 +1105,9 @@ public class ECKey implements Serializable {
         // So it's encoded in the recId.
         ECPoint R = decompressKey(x, (recId & 1) == 1);
         //   1.4. If nR != point at infinity, then do another iteration of Step 1 (callers responsibility).
-        if (!R.multiply(n).isInfinity())
+        //        With a cofactor of 1, as secp256k1 has, every point on the curve has order n, so the
+        //        check is only done for other curves.
+        if (!CURVE.getH().equals(BigInteger.ONE) && !R.multiply(n).isInfinity())
             return null;
         //   1.5. Compute e from M using Steps 2 and 3 of ECDSA signature verification.
         BigInteger e = new BigInteger(1, messageHash);
@@ -1062,8 +1126,7 @@ public class ECKey implements Serializable {
         BigInteger rInv = sig.r.modInverse(n);
         BigInteger srInv = rInv.multiply(sig.s).mod(n);
         BigInteger eInvrInv = rInv.multiply(eInv).mod(n);
-        ECPoint.Fp q = (ECPoint.Fp) ECAlgorithms.sumOfTwoMultiplies(CURVE.getG(), eInvrInv, R, srInv);
-        return q.getEncoded(/* compressed */ false);
+        return ECAlgorithms.sumOfTwoMultiplies(CURVE.getG(), eInvrInv, R, srInv);
     }
 
     /**
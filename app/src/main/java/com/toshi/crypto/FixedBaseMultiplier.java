@@ -0,0 +1,117 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.crypto;
+
+
+import org.spongycastle.math.ec.ECCurve;
+import org.spongycastle.math.ec.ECMultiplier;
+import org.spongycastle.math.ec.ECPoint;
+import org.spongycastle.util.BigIntegers;
+
+import java.math.BigInteger;
+
+/**
+ * Multiplies a fixed base point using a precomputed table of 4 bit windows.
+ *
+ * <p>Row i of the table holds j * 16^i * base for j in 1..15, in affine form. A scalar is then the sum
+ * of one table entry per nibble, which is 64 mixed additions and no doublings for a 256 bit scalar.
+ * The table is about a thousand points and is built once, the first time it is needed.</p>
+ *
+ * <p>Like the comb multiplier BouncyCastle uses, table lookups depend on the scalar.</p>
+ */
+/* package */ final class FixedBaseMultiplier implements ECMultiplier {
+
+    private static final int WINDOW_BITS = 4;
+    private static final int WINDOW_SIZE = 1 << WINDOW_BITS;
+    private static final int WINDOW_MASK = WINDOW_SIZE - 1;
+
+    private final ECPoint base;
+    private final int windows;
+    private volatile ECPoint[][] table;
+
+    /* package */ FixedBaseMultiplier(final ECPoint base, final int scalarBits) {
+        this.base = base.normalize();
+        // Round up to whole bytes so the scalar can be read a byte at a time
+        this.windows = ((scalarBits + 7) / 8) * 2;
+    }
+
+    /**
+     * Multiplies p by k, using the table if p is the base point this multiplier was built for.
+     *
+     * @param p point to multiply
+     * @param k scalar
+     * @return k * p
+     */
+    @Override
+    public ECPoint multiply(final ECPoint p, final BigInteger k) {
+        if (p != this.base && !p.equals(this.base)) return p.multiply(k);
+        return multiply(k);
+    }
+
+    /**
+     * @param k scalar
+     * @return k * base, not normalized
+     */
+    /* package */ ECPoint multiply(final BigInteger k) {
+        if (k.signum() < 0 || k.bitLength() > this.windows * WINDOW_BITS) {
+            return this.base.multiply(k);
+        }
+
+        final ECPoint[][] table = getTable();
+        final byte[] scalar = BigIntegers.asUnsignedByteArray(this.windows / 2, k);
+        ECPoint result = this.base.getCurve().getInfinity();
+        for (int i = 0; i < this.windows; i++) {
+            final int b = scalar[scalar.length - 1 - (i >> 1)];
+            final int digit = (i & 1) == 0 ? b & WINDOW_MASK : (b >> WINDOW_BITS) & WINDOW_MASK;
+            if (digit != 0) result = result.add(table[i][digit]);
+        }
+        return result;
+    }
+
+    private ECPoint[][] getTable() {
+        ECPoint[][] table = this.table;
+        if (table == null) {
+            synchronized (this) {
+                table = this.table;
+                if (table == null) {
+                    table = buildTable();
+                    this.table = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    private ECPoint[][] buildTable() {
+        final ECCurve curve = this.base.getCurve();
+        final ECPoint[][] table = new ECPoint[this.windows][WINDOW_SIZE];
+        ECPoint rowBase = this.base;
+        for (int i = 0; i < this.windows; i++) {
+            final ECPoint[] row = table[i];
+            row[1] = rowBase;
+            for (int j = 2; j < WINDOW_SIZE; j++) {
+                row[j] = row[j - 1].add(rowBase);
+            }
+            // Entry 0 is the point at infinity, which is never looked up
+            curve.normalizeAll(row, 1, WINDOW_SIZE - 1, null);
+            // 16^(i + 1) * base = 2 * (8 * 16^i * base)
+            rowBase = row[WINDOW_SIZE / 2].twice();
+        }
+        return table;
+    }
+}
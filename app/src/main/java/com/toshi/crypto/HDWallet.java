@@ -28,6 +28,7 @@ import com.toshi.exception.InvalidMasterSeedException;
 import com.toshi.exception.KeyStoreException;
 import com.toshi.util.FileNames;
 import com.toshi.util.logging.LogUtil;
+import com.toshi.util.logging.StartupTiming;
 import com.toshi.view.BaseApplication;
 
 import org.bitcoinj.core.NetworkParameters;
@@ -39,6 +40,10 @@ import org.bitcoinj.wallet.UnreadableWalletException;
 import org.bitcoinj.wallet.Wallet;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import rx.Single;
 
@@ -48,26 +53,45 @@ public class HDWallet {
 
     private static final String ALIAS = "MasterSeedAlias";
     private static final String MASTER_SEED = "ms";
+    private static final String IDENTITY_KEY = "identity";
+    private static final String PAYMENT_KEY = "payment";
+    private static final String PAYMENT_ACCOUNT_KEY = "payment_account";
+    private static final int CHAIN_CODE_LENGTH = 32;
+    private static final int PRIVATE_KEY_LENGTH = 32;
 
     private SharedPreferences prefs;
+    private DerivedKeyCache derivedKeyCache;
     private ECKey identityKey;
     private ECKey paymentKey;
     private String masterSeed;
+    // Chain code followed by private key of m/44'/60'/0'/0; only turned into a key when an index above 0 is used
+    private byte[] paymentAccountKeyBytes;
+    private DeterministicKey paymentAccountKey;
+    private final Map<Integer, ECKey> paymentKeys = new HashMap<>();
 
     public HDWallet() {
         this.prefs = BaseApplication.get().getSharedPreferences(FileNames.WALLET_PREFS, Context.MODE_PRIVATE);
+        this.derivedKeyCache = new DerivedKeyCache(this.prefs);
     }
 
     public HDWallet(@NonNull final SharedPreferences preferences) {
         this.prefs = preferences;
+        this.derivedKeyCache = new DerivedKeyCache(this.prefs);
     }
 
     public Single<HDWallet> getExistingWallet() {
         return Single.fromCallable(() -> {
             this.masterSeed = readMasterSeedFromStorage();
             if (this.masterSeed == null) throw new InvalidMasterSeedException(new Throwable("Master seed is null"));
+            StartupTiming.mark("master seed read");
+            if (readKeysFromCache(this.masterSeed)) {
+                StartupTiming.mark("keys read from cache");
+                return this;
+            }
             final Wallet wallet = initFromMasterSeed(this.masterSeed);
             deriveKeysFromWallet(wallet);
+            StartupTiming.mark("keys derived");
+            cacheDerivedKeys();
             return this;
         })
         .doOnError(throwable -> LogUtil.exception("Error while getting existing wallet", throwable));
@@ -78,6 +102,7 @@ public class HDWallet {
         return Single.fromCallable(() -> {
             final Wallet wallet = generateNewWallet();
             deriveKeysFromWallet(wallet);
+            cacheDerivedKeys();
             return this;
         })
         .doOnError(throwable -> LogUtil.exception("Error while creating new wallet", throwable));
@@ -111,6 +136,7 @@ public class HDWallet {
                 final Wallet wallet = constructFromSeed(seed);
                 deriveKeysFromWallet(wallet);
                 saveMasterSeedToStorage(masterSeed);
+                cacheDerivedKeys();
                 return this;
             } catch (final UnreadableWalletException | MnemonicException e) {
                 LogUtil.exception("Error while creating wallet from master seed", e);
@@ -136,6 +162,7 @@ public class HDWallet {
         try {
             deriveIdentityKey(wallet);
             derivePaymentKey(wallet);
+            derivePaymentAccountKey(wallet);
         } catch (final UnreadableWalletException | IOException ex) {
             LogUtil.exception("Error while deriving keys from wallet", ex);
             throw new RuntimeException("Error deriving keys: " + ex);
@@ -143,19 +170,20 @@ public class HDWallet {
     }
 
     private void deriveIdentityKey(final Wallet wallet) throws IOException, UnreadableWalletException {
-        this.identityKey = deriveKeyFromWallet(wallet, 0, KeyChain.KeyPurpose.AUTHENTICATION);
+        this.identityKey = deriveKeyFromWallet(wallet, KeyChain.KeyPurpose.AUTHENTICATION);
     }
 
     private void derivePaymentKey(final Wallet wallet) throws IOException, UnreadableWalletException {
-        this.paymentKey = deriveKeyFromWallet(wallet, 0, KeyChain.KeyPurpose.RECEIVE_FUNDS);
+        this.paymentKey = deriveKeyFromWallet(wallet, KeyChain.KeyPurpose.RECEIVE_FUNDS);
     }
 
-    private ECKey deriveKeyFromWallet(final Wallet wallet, final int iteration, final KeyChain.KeyPurpose keyPurpose) throws UnreadableWalletException, IOException {
-        DeterministicKey key = null;
-        for (int i = 0; i <= iteration; i++) {
-            key = wallet.freshKey(keyPurpose);
-        }
+    private void derivePaymentAccountKey(final Wallet wallet) {
+        setPaymentAccountKey(EthereumKeyChainGroup.getPaymentAccountKey(wallet));
+    }
 
+    // The Ethereum key chain always hands out the same key for a purpose, so one call is enough
+    private ECKey deriveKeyFromWallet(final Wallet wallet, final KeyChain.KeyPurpose keyPurpose) throws UnreadableWalletException, IOException {
+        final DeterministicKey key = wallet.freshKey(keyPurpose);
         if (key == null) {
             throw new IOException("Unable to derive key");
         }
@@ -163,14 +191,79 @@ public class HDWallet {
         return ECKey.fromPrivate(key.getPrivKey());
     }
 
+    private synchronized void setPaymentAccountKey(final DeterministicKey paymentAccountKey) {
+        final byte[] keyBytes = new byte[CHAIN_CODE_LENGTH + PRIVATE_KEY_LENGTH];
+        System.arraycopy(paymentAccountKey.getChainCode(), 0, keyBytes, 0, CHAIN_CODE_LENGTH);
+        System.arraycopy(paymentAccountKey.getPrivKeyBytes(), 0, keyBytes, CHAIN_CODE_LENGTH, PRIVATE_KEY_LENGTH);
+        this.paymentAccountKeyBytes = keyBytes;
+        this.paymentAccountKey = paymentAccountKey;
+        this.paymentKeys.clear();
+    }
+
+    // Payment key `index` is m/44'/60'/0'/0/index. Index 0 is the default payment key.
+    // Keys are derived from the account key on first use and then kept.
+    private synchronized ECKey getPaymentKey(final int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Invalid payment key index: " + index);
+        }
+        if (index == 0) return this.paymentKey;
+
+        final ECKey cachedKey = this.paymentKeys.get(index);
+        if (cachedKey != null) return cachedKey;
+
+        final DeterministicKey childKey = EthereumKeyChainGroup.derivePaymentKey(getPaymentAccountKey(), index);
+        final ECKey key = ECKey.fromPrivate(childKey.getPrivKey());
+        this.paymentKeys.put(index, key);
+        return key;
+    }
+
+    private DeterministicKey getPaymentAccountKey() {
+        if (this.paymentAccountKey != null) return this.paymentAccountKey;
+        if (this.paymentAccountKeyBytes == null) throw new IllegalStateException("Payment account key is unknown");
+
+        final byte[] chainCode = Arrays.copyOfRange(this.paymentAccountKeyBytes, 0, CHAIN_CODE_LENGTH);
+        final byte[] privateKey = Arrays.copyOfRange(this.paymentAccountKeyBytes, CHAIN_CODE_LENGTH, this.paymentAccountKeyBytes.length);
+        this.paymentAccountKey = EthereumKeyChainGroup.restorePaymentAccountKey(chainCode, privateKey);
+        return this.paymentAccountKey;
+    }
+
+    private boolean readKeysFromCache(final String masterSeed) {
+        final Map<String, byte[]> keys = this.derivedKeyCache.read(masterSeed);
+        if (keys == null
+                || !keys.containsKey(IDENTITY_KEY)
+                || !keys.containsKey(PAYMENT_KEY)
+                || !keys.containsKey(PAYMENT_ACCOUNT_KEY)) return false;
+        this.identityKey = ECKey.fromPrivate(keys.get(IDENTITY_KEY));
+        this.paymentKey = ECKey.fromPrivate(keys.get(PAYMENT_KEY));
+        synchronized (this) {
+            this.paymentAccountKeyBytes = keys.get(PAYMENT_ACCOUNT_KEY);
+            this.paymentAccountKey = null;
+            this.paymentKeys.clear();
+        }
+        return true;
+    }
+
+    private void cacheDerivedKeys() {
+        if (this.masterSeed == null) return;
+        final Map<String, byte[]> keys = new LinkedHashMap<>();
+        keys.put(IDENTITY_KEY, this.identityKey.getPrivKeyBytes());
+        keys.put(PAYMENT_KEY, this.paymentKey.getPrivKeyBytes());
+        keys.put(PAYMENT_ACCOUNT_KEY, this.paymentAccountKeyBytes);
+        this.derivedKeyCache.write(this.masterSeed, keys);
+    }
+
     public String signIdentity(final String data) {
         return sign(data.getBytes(), this.identityKey);
     }
 
     public String signTransaction(final String data) {
+        return signTransaction(0, data);
+    }
+
+    public String signTransaction(final int index, final String data) {
         try {
             final byte[] transactionBytes = TypeConverter.StringHexToByteArray(data);
-            return sign(transactionBytes, this.paymentKey);
+            return sign(transactionBytes, getPaymentKey(index));
         } catch (final Exception e) {
             LogUtil.exception("Unable to sign transaction. " + e);
             return null;
@@ -249,6 +342,11 @@ public class HDWallet {
         return null;
     }
 
+    public String getPaymentAddress(final int index) {
+        if (this.paymentKey == null) return null;
+        return TypeConverter.toJsonHex(getPaymentKey(index).getAddress());
+    }
+
     @Override
     public String toString() {
         return "Identity: " + getOwnerAddress() + "\nPayment: " + getPaymentAddress();
@@ -285,6 +383,7 @@ public class HDWallet {
     }
 
     public void clear() {
+        this.derivedKeyCache.clear();
         this.prefs
                 .edit()
                 .clear()
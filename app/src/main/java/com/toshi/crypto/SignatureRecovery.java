@@ -0,0 +1,211 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.toshi.crypto;
+
+
+import android.support.annotation.Nullable;
+
+import com.toshi.crypto.util.HashUtil;
+import com.toshi.crypto.util.HexCodec;
+
+import org.spongycastle.math.ec.ECPoint;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Recovers the addresses that signed many messages at once.
+ *
+ * <p>The input is split into one contiguous chunk per core. The calling thread works through the first chunk
+ * and a shared pool takes the rest. Each thread reuses its own buffers for the public key, hashes and decoded
+ * signatures. Addresses are returned in input order. An entry is null when its signature is malformed or no
+ * key can be recovered from it.</p>
+ */
+public final class SignatureRecovery {
+
+    private static final int MIN_CHUNK_SIZE = 32;
+    private static final int THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+    private static final int ADDRESS_OFFSET = 12;
+    private static final int SIGNATURE_LENGTH = 65;
+    private static final byte[] PERSONAL_MESSAGE_PREFIX =
+            "\u0019Ethereum Signed Message:\n".getBytes(Charset.forName("UTF-8"));
+
+    private static final ThreadLocal<Buffers> buffers = new ThreadLocal<Buffers>() {
+        @Override
+        protected Buffers initialValue() {
+            return new Buffers();
+        }
+    };
+
+    private static ExecutorService executor;
+
+    private SignatureRecovery() {}
+
+    private static final class Buffers {
+        private final byte[] publicKey = new byte[64];
+        private final byte[] hash = new byte[HashUtil.SHA3_LENGTH];
+        private final byte[] signature = new byte[SIGNATURE_LENGTH];
+        private byte[] message = new byte[256];
+
+        private byte[] getMessageBuffer(final int length) {
+            if (this.message.length < length) this.message = new byte[Math.max(length, this.message.length * 2)];
+            return this.message;
+        }
+    }
+
+    private interface RangeTask {
+        void run(int start, int end);
+    }
+
+    /**
+     * @param messageHashes 32-byte hashes of the signed messages
+     * @param signatures the signature of each hash, with v as 0 to 3 or 27 to 34
+     * @return the 20-byte address that signed each hash
+     */
+    public static byte[][] recoverAddresses(final byte[][] messageHashes, final ECKey.ECDSASignature[] signatures) {
+        if (messageHashes.length != signatures.length) {
+            throw new IllegalArgumentException("Expected a signature for every message hash");
+        }
+        final byte[][] addresses = new byte[messageHashes.length][];
+        runInChunks(messageHashes.length, (start, end) -> {
+            final Buffers threadBuffers = buffers.get();
+            for (int i = start; i < end; i++) {
+                addresses[i] = recoverAddress(messageHashes[i], signatures[i], threadBuffers);
+            }
+        });
+        return addresses;
+    }
+
+    /**
+     * Recovers the signers of personal_sign messages, as signed by EthereumSignedMessage.
+     *
+     * @param messages the raw messages, before the "Ethereum Signed Message" prefix is added
+     * @param signatures hex encoded r, s and v of each message, with or without 0x
+     * @return the 20-byte address that signed each message
+     */
+    public static byte[][] recoverPersonalMessageAddresses(final byte[][] messages, final String[] signatures) {
+        if (messages.length != signatures.length) {
+            throw new IllegalArgumentException("Expected a signature for every message");
+        }
+        final byte[][] addresses = new byte[messages.length][];
+        runInChunks(messages.length, (start, end) -> {
+            final Buffers threadBuffers = buffers.get();
+            for (int i = start; i < end; i++) {
+                addresses[i] = recoverPersonalMessageAddress(messages[i], signatures[i], threadBuffers);
+            }
+        });
+        return addresses;
+    }
+
+    @Nullable
+    private static byte[] recoverPersonalMessageAddress(final byte[] message, final String signature, final Buffers buffers) {
+        if (message == null || signature == null) return null;
+        if (HexCodec.decodedLength(signature) != SIGNATURE_LENGTH) return null;
+        if (HexCodec.tryDecode(signature, buffers.signature, 0) < 0) return null;
+
+        final ECKey.ECDSASignature ecdsaSignature = ECKey.ECDSASignature.fromComponents(
+                Arrays.copyOfRange(buffers.signature, 0, 32),
+                Arrays.copyOfRange(buffers.signature, 32, 64),
+                buffers.signature[64]);
+        return recoverAddress(hashPersonalMessage(message, buffers), ecdsaSignature, buffers);
+    }
+
+    // Hashes "\x19Ethereum Signed Message:\n" + length + message into buffers.hash
+    private static byte[] hashPersonalMessage(final byte[] message, final Buffers buffers) {
+        final byte[] length = Integer.toString(message.length).getBytes(Charset.forName("UTF-8"));
+        final int totalLength = PERSONAL_MESSAGE_PREFIX.length + length.length + message.length;
+        final byte[] prefixedMessage = buffers.getMessageBuffer(totalLength);
+        System.arraycopy(PERSONAL_MESSAGE_PREFIX, 0, prefixedMessage, 0, PERSONAL_MESSAGE_PREFIX.length);
+        System.arraycopy(length, 0, prefixedMessage, PERSONAL_MESSAGE_PREFIX.length, length.length);
+        System.arraycopy(message, 0, prefixedMessage, PERSONAL_MESSAGE_PREFIX.length + length.length, message.length);
+        HashUtil.sha3(prefixedMessage, 0, totalLength, buffers.hash, 0);
+        return buffers.hash;
+    }
+
+    // messageHash may be buffers.hash; it is read before the buffer is reused for the address
+    @Nullable
+    private static byte[] recoverAddress(final byte[] messageHash, final ECKey.ECDSASignature signature, final Buffers buffers) {
+        if (messageHash == null || signature == null || messageHash.length != 32) return null;
+        final int recId = getRecId(signature.v);
+        if (recId < 0) return null;
+
+        final ECPoint publicKey;
+        try {
+            publicKey = ECKey.recoverPubPointFromSignature(recId, signature, messageHash);
+        } catch (final RuntimeException e) {
+            return null;
+        }
+        if (publicKey == null || publicKey.isInfinity()) return null;
+
+        final ECPoint normalized = publicKey.normalize();
+        System.arraycopy(normalized.getAffineXCoord().getEncoded(), 0, buffers.publicKey, 0, 32);
+        System.arraycopy(normalized.getAffineYCoord().getEncoded(), 0, buffers.publicKey, 32, 32);
+        HashUtil.sha3(buffers.publicKey, 0, buffers.publicKey.length, buffers.hash, 0);
+        return Arrays.copyOfRange(buffers.hash, ADDRESS_OFFSET, HashUtil.SHA3_LENGTH);
+    }
+
+    // Accepts the header values signatureToKeyBytes accepts, and raw recovery ids
+    private static int getRecId(final int v) {
+        if (v >= 0 && v <= 3) return v;
+        if (v < 27 || v > 34) return -1;
+        return (v >= 31 ? v - 4 : v) - 27;
+    }
+
+    private static void runInChunks(final int count, final RangeTask task) {
+        final int chunks = Math.min(THREADS, (count + MIN_CHUNK_SIZE - 1) / MIN_CHUNK_SIZE);
+        if (chunks <= 1) {
+            task.run(0, count);
+            return;
+        }
+
+        final int chunkSize = (count + chunks - 1) / chunks;
+        final List<Future<?>> futures = new ArrayList<>(chunks - 1);
+        for (int start = chunkSize; start < count; start += chunkSize) {
+            final int chunkStart = start;
+            final int chunkEnd = Math.min(start + chunkSize, count);
+            futures.add(getExecutor().submit(() -> task.run(chunkStart, chunkEnd)));
+        }
+        task.run(0, chunkSize);
+
+        try {
+            for (final Future<?> future : futures) future.get();
+        } catch (final InterruptedException e) {
+            for (final Future<?> future : futures) future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while recovering signatures", e);
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("Error while recovering signatures", e.getCause());
+        }
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(THREADS - 1, runnable -> {
+                final Thread thread = new Thread(runnable, "SignatureRecovery");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+}
@@ -17,6 +17,8 @@
 
 package com.toshi.crypto.cryptohash;
 
+import java.nio.ByteBuffer;
+
 /**
  * <p>This interface documents the API for a hash function. This
  * interface somewhat mimics the standard {@code
@@ -95,6 +97,14 @@ public interface Digest {
      */
     void update(byte[] inbuf, int off, int len);
 
+    /**
+     * Insert the remaining bytes of {@code inbuf}. The buffer position
+     * is advanced to its limit.
+     *
+     * @param inbuf   the data buffer
+     */
+    void update(ByteBuffer inbuf);
+
     /**
      * Finalize the current hash computation and return the hash value
      * in a newly-allocated array. The object is resetted.
@@ -17,6 +17,8 @@
 
 package com.toshi.crypto.cryptohash;
 
+import java.nio.ByteBuffer;
+
 
 /**
  * <p>This class is a template which can be used to implement hash
@@ -77,6 +79,20 @@ public abstract class DigestEngine implements Digest {
      */
     protected abstract void processBlock(byte[] data);
 
+    /**
+     * Process one block of data starting at {@code offset}. The default
+     * implementation copies the block into the internal buffer; engines
+     * which can read the block in place override this.
+     *
+     * @param data     the data buffer
+     * @param offset   the block offset in {@code data}
+     */
+    protected void processBlock(byte[] data, int offset)
+    {
+        System.arraycopy(data, offset, inputBuf, 0, blockLen);
+        processBlock(inputBuf);
+    }
+
     /**
      * Perform the final padding and store the result in the
      * provided buffer. This method shall call {@link #flush}
@@ -177,6 +193,14 @@ public abstract class DigestEngine implements Digest {
     public void update(byte[] input, int offset, int len)
     {
         while (len > 0) {
+            if (inputLen == 0 && len >= blockLen) {
+                // Nothing buffered, so whole blocks are processed in place
+                processBlock(input, offset);
+                blockCount ++;
+                offset += blockLen;
+                len -= blockLen;
+                continue;
+            }
             int copyLen = blockLen - inputLen;
             if (copyLen > len)
                 copyLen = len;
@@ -193,6 +217,34 @@ public abstract class DigestEngine implements Digest {
         }
     }
 
+    /**
+     * Insert the remaining bytes of {@code input}. Heap buffers are
+     * hashed in place from their backing array; direct buffers are
+     * copied through the internal block buffer. The buffer position
+     * is advanced to its limit.
+     *
+     * @param input   the data buffer
+     */
+    public void update(ByteBuffer input)
+    {
+        if (input.hasArray()) {
+            update(input.array(), input.arrayOffset() + input.position(),
+                    input.remaining());
+            input.position(input.limit());
+            return;
+        }
+        while (input.hasRemaining()) {
+            int copyLen = Math.min(blockLen - inputLen, input.remaining());
+            input.get(inputBuf, inputLen, copyLen);
+            inputLen += copyLen;
+            if (inputLen == blockLen) {
+                processBlock(inputBuf);
+                blockCount ++;
+                inputLen = 0;
+            }
+        }
+    }
+
     /**
      * Get the internal block length. This is the length (in
      * bytes) of the array which will be passed as parameter to
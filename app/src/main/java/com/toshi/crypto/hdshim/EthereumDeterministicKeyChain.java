@@ -37,15 +37,21 @@ import java.util.List;
                     ChildNumber.ONE,
                     ChildNumber.ZERO);
 
-    // ETH44_ACCOUNT_ZERO_PATH = m/44'/60'/0'/0/0
-    private static final ImmutableList<ChildNumber> ETH44_ACCOUNT_ZERO_PATH =
+    // PAYMENT_ACCOUNT_PATH = m/44'/60'/0'/0, the parent of every payment address
+    /* package */ static final ImmutableList<ChildNumber> PAYMENT_ACCOUNT_PATH =
             ImmutableList.of(
                     new ChildNumber(44, true),
                     new ChildNumber(60, true),
                     ChildNumber.ZERO_HARDENED,
-                    ChildNumber.ZERO,
                     ChildNumber.ZERO);
 
+    // ETH44_ACCOUNT_ZERO_PATH = m/44'/60'/0'/0/0
+    private static final ImmutableList<ChildNumber> ETH44_ACCOUNT_ZERO_PATH =
+            ImmutableList.<ChildNumber>builder()
+                    .addAll(PAYMENT_ACCOUNT_PATH)
+                    .add(ChildNumber.ZERO)
+                    .build();
+
     /* package */ EthereumDeterministicKeyChain(final DeterministicSeed seed) {
         super(seed);
     }
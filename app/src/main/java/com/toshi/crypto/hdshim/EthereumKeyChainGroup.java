@@ -19,8 +19,14 @@ package com.toshi.crypto.hdshim;
 
 
 import org.bitcoinj.core.NetworkParameters;
+import org.bitcoinj.crypto.ChildNumber;
+import org.bitcoinj.crypto.DeterministicKey;
+import org.bitcoinj.crypto.HDKeyDerivation;
 import org.bitcoinj.wallet.DeterministicSeed;
 import org.bitcoinj.wallet.KeyChainGroup;
+import org.bitcoinj.wallet.Wallet;
+
+import java.math.BigInteger;
 
 public class EthereumKeyChainGroup extends KeyChainGroup {
 
@@ -28,4 +34,23 @@ public class EthereumKeyChainGroup extends KeyChainGroup {
         super(params);
         addAndActivateHDChain(new EthereumDeterministicKeyChain(seed));
     }
+
+    // The key at m/44'/60'/0'/0, which every payment address is derived from
+    public static DeterministicKey getPaymentAccountKey(final Wallet wallet) {
+        return wallet.getActiveKeyChain().getKeyByPath(EthereumDeterministicKeyChain.PAYMENT_ACCOUNT_PATH, true);
+    }
+
+    // Restores the payment account key from its chain code and private key, without the seed
+    public static DeterministicKey restorePaymentAccountKey(final byte[] chainCode, final byte[] privateKey) {
+        return new DeterministicKey(
+                EthereumDeterministicKeyChain.PAYMENT_ACCOUNT_PATH,
+                chainCode,
+                new BigInteger(1, privateKey),
+                null);
+    }
+
+    // Payment address `index` is m/44'/60'/0'/0/index
+    public static DeterministicKey derivePaymentKey(final DeterministicKey paymentAccountKey, final int index) {
+        return HDKeyDerivation.deriveChildKey(paymentAccountKey, new ChildNumber(index, false));
+    }
 }
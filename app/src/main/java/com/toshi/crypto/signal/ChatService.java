@@ -23,7 +23,8 @@ import com.toshi.crypto.HDWallet;
 import com.toshi.crypto.signal.model.SignalBootstrap;
 import com.toshi.crypto.signal.network.ChatInterface;
 import com.toshi.crypto.signal.store.ProtocolStore;
-import com.toshi.manager.network.interceptor.LoggingInterceptor;
+import com.toshi.manager.network.HttpClientProvider;
+import com.toshi.manager.network.interceptor.NetworkLoggingInterceptor;
 import com.toshi.manager.network.interceptor.SigningInterceptor;
 import com.toshi.manager.network.interceptor.AppInfoUserAgentInterceptor;
 import com.toshi.util.logging.LogUtil;
@@ -46,7 +47,6 @@ import java.util.LinkedList;
 import java.util.List;
 
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.adapter.rxjava.RxJavaCallAdapterFactory;
 import retrofit2.converter.moshi.MoshiConverterFactory;
@@ -81,7 +81,7 @@ public final class ChatService extends SignalServiceAccountManager {
                 password,
                 userAgent);
         this.url = urls[0].getUrl();
-        this.client = new OkHttpClient.Builder();
+        this.client = HttpClientProvider.newBuilder();
         this.chatInterface = generateSignalInterface();
     }
 
@@ -114,9 +114,7 @@ public final class ChatService extends SignalServiceAccountManager {
     }
 
     private void addLogging() {
-        final HttpLoggingInterceptor interceptor = new HttpLoggingInterceptor(new LoggingInterceptor());
-        interceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-        this.client.addInterceptor(interceptor);
+        this.client.addInterceptor(new NetworkLoggingInterceptor());
     }
 
     public Completable registerKeys(final ProtocolStore protocolStore) {
@@ -190,7 +190,7 @@ public class ByteUtil {
      * @see Hex#toHexString
      */
     public static String toHexString(byte[] data) {
-        return data == null ? "" : Hex.toHexString(data);
+        return data == null ? "" : HexCodec.encode(data);
     }
 
     /**
@@ -203,14 +203,12 @@ public class ByteUtil {
      * @return hex representation of the data, zero padded to desired size.<br>
      */
     public static String toZeroPaddedHexString(final byte[] data, final int size) {
-        final String hex = toHexString(data);
-        final StringBuffer sb = new StringBuffer("");
-        final int requiredPadding = size - hex.length();
-        while (sb.length() < requiredPadding) {
-            sb.append("0");
-        }
-        sb.append(hex);
-        return sb.toString();
+        final int hexLength = data == null ? 0 : data.length * 2;
+        final int padding = Math.max(size - hexLength, 0);
+        final char[] hex = new char[padding + hexLength];
+        Arrays.fill(hex, 0, padding, '0');
+        if (data != null) HexCodec.encode(data, 0, data.length, hex, padding);
+        return new String(hex);
     }
 
     /**
@@ -290,9 +288,7 @@ public class ByteUtil {
     }
 
     public static String oneByteToHexString(byte value) {
-        String retVal = Integer.toString(value & 0xFF, 16);
-        if (retVal.length() == 1) retVal = "0" + retVal;
-        return retVal;
+        return HexCodec.encode(new byte[]{value});
     }
 
     /**
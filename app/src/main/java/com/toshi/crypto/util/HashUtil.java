@@ -23,6 +23,7 @@ import com.toshi.crypto.cryptohash.Keccak256;
 import org.spongycastle.util.Arrays;
 import org.whispersystems.signalservice.internal.util.Base64;
 
+import java.nio.ByteBuffer;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 
@@ -33,10 +34,51 @@ public class HashUtil {
         return Arrays.copyOfRange(hash, 12, hash.length);
     }
 
+    public static final int SHA3_LENGTH = 32;
+
+    // An engine keeps its state and buffers between hashes, so each thread reuses one
+    private static final ThreadLocal<Keccak256> keccak = new ThreadLocal<Keccak256>() {
+        @Override
+        protected Keccak256 initialValue() {
+            return new Keccak256();
+        }
+    };
+
     public static byte[] sha3(byte[] input) {
-        Keccak256 digest = new Keccak256();
+        return sha3(input, 0, input.length);
+    }
+
+    public static byte[] sha3(byte[] input, int offset, int length) {
+        final byte[] hash = new byte[SHA3_LENGTH];
+        sha3(input, offset, length, hash, 0);
+        return hash;
+    }
+
+    /**
+     * Writes the Keccak-256 hash of input[offset, offset + length) into out at outOffset.
+     * Does not allocate once the calling thread has hashed something.
+     */
+    public static void sha3(byte[] input, int offset, int length, byte[] out, int outOffset) {
+        final Keccak256 digest = getEngine();
+        digest.update(input, offset, length);
+        digest.digest(out, outOffset, SHA3_LENGTH);
+    }
+
+    /**
+     * Writes the Keccak-256 hash of the remaining bytes of input into out at outOffset.
+     * The position of input is advanced to its limit.
+     */
+    public static void sha3(ByteBuffer input, byte[] out, int outOffset) {
+        final Keccak256 digest = getEngine();
         digest.update(input);
-        return digest.digest();
+        digest.digest(out, outOffset, SHA3_LENGTH);
+    }
+
+    private static Keccak256 getEngine() {
+        final Keccak256 digest = keccak.get();
+        // digest() resets the engine, but a caller that threw halfway through an update would not have
+        digest.reset();
+        return digest;
     }
 
     public static String getSecret(final int size) {
@@ -0,0 +1,175 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.toshi.crypto.util;
+
+
+/**
+ * Table driven hex encoding and decoding.
+ *
+ * <p>Encoding writes straight into a {@code char[]} that becomes the result string, and decoding
+ * reads the characters in place, so neither goes through {@link java.math.BigInteger}, a
+ * {@link StringBuilder} or a substring for the {@code 0x} prefix. Output is lower case; both cases
+ * are accepted when decoding. An odd number of digits is read as if it had a leading zero.</p>
+ */
+public final class HexCodec {
+
+    private static final String PREFIX = "0x";
+    private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+    private static final byte[] NIBBLES = new byte[128];
+
+    static {
+        for (int i = 0; i < NIBBLES.length; i++) NIBBLES[i] = -1;
+        for (int i = 0; i < 10; i++) NIBBLES['0' + i] = (byte) i;
+        for (int i = 0; i < 6; i++) {
+            NIBBLES['a' + i] = (byte) (10 + i);
+            NIBBLES['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    private HexCodec() {}
+
+    public static String encode(final byte[] data) {
+        return encode(data, 0, data.length, false);
+    }
+
+    public static String encode(final byte[] data, final boolean withPrefix) {
+        return encode(data, 0, data.length, withPrefix);
+    }
+
+    public static String encode(final byte[] data, final int offset, final int length, final boolean withPrefix) {
+        final int prefixLength = withPrefix ? PREFIX.length() : 0;
+        final char[] out = new char[prefixLength + length * 2];
+        if (withPrefix) {
+            out[0] = '0';
+            out[1] = 'x';
+        }
+        encode(data, offset, length, out, prefixLength);
+        return new String(out);
+    }
+
+    /**
+     * @return the position in {@code out} after the last digit written
+     */
+    public static int encode(final byte[] data, final int offset, final int length, final char[] out, final int outOffset) {
+        int position = outOffset;
+        for (int i = offset; i < offset + length; i++) {
+            final int b = data[i] & 0xFF;
+            out[position++] = DIGITS[b >>> 4];
+            out[position++] = DIGITS[b & 0x0F];
+        }
+        return position;
+    }
+
+    /**
+     * Encodes an unsigned value without leading zeroes, like {@link Long#toHexString(long)}.
+     */
+    public static String encode(final long value, final boolean withPrefix) {
+        final int digits = value == 0 ? 1 : (67 - Long.numberOfLeadingZeros(value)) / 4;
+        final int prefixLength = withPrefix ? PREFIX.length() : 0;
+        final char[] out = new char[prefixLength + digits];
+        if (withPrefix) {
+            out[0] = '0';
+            out[1] = 'x';
+        }
+        long remaining = value;
+        for (int i = out.length - 1; i >= prefixLength; i--) {
+            out[i] = DIGITS[(int) (remaining & 0x0F)];
+            remaining >>>= 4;
+        }
+        return new String(out);
+    }
+
+    /**
+     * Encodes an unsigned big-endian value without leading zeroes. Zero, or an empty array, is "0".
+     */
+    public static String encodeQuantity(final byte[] data, final boolean withPrefix) {
+        int first = 0;
+        while (first < data.length && data[first] == 0) first++;
+        if (first == data.length) return withPrefix ? "0x0" : "0";
+
+        final boolean skipNibble = (data[first] & 0xF0) == 0;
+        final int prefixLength = withPrefix ? PREFIX.length() : 0;
+        final char[] out = new char[prefixLength + (data.length - first) * 2 - (skipNibble ? 1 : 0)];
+        if (withPrefix) {
+            out[0] = '0';
+            out[1] = 'x';
+        }
+        int position = prefixLength;
+        if (skipNibble) {
+            out[position++] = DIGITS[data[first] & 0x0F];
+            first++;
+        }
+        encode(data, first, data.length - first, out, position);
+        return new String(out);
+    }
+
+    public static boolean hasPrefix(final CharSequence hex) {
+        return hex.length() >= 2 && hex.charAt(0) == '0' && hex.charAt(1) == 'x';
+    }
+
+    /**
+     * @return the number of bytes {@code hex} decodes to, ignoring a {@code 0x} prefix
+     */
+    public static int decodedLength(final CharSequence hex) {
+        final int digits = hex.length() - (hasPrefix(hex) ? PREFIX.length() : 0);
+        return (digits + 1) / 2;
+    }
+
+    public static byte[] decode(final CharSequence hex) {
+        final byte[] out = new byte[decodedLength(hex)];
+        decode(hex, out, 0);
+        return out;
+    }
+
+    /**
+     * Decodes {@code hex}, with or without a {@code 0x} prefix, into {@code out}.
+     *
+     * @return the number of bytes written, which is {@link #decodedLength(CharSequence)}
+     * @throws IllegalArgumentException if {@code hex} contains anything but hex digits
+     */
+    public static int decode(final CharSequence hex, final byte[] out, final int outOffset) {
+        final int start = hasPrefix(hex) ? PREFIX.length() : 0;
+        final int end = hex.length();
+        int position = outOffset;
+        int i = start;
+        if (((end - start) & 1) != 0) {
+            out[position++] = (byte) nibble(hex, i++);
+        }
+        while (i < end) {
+            out[position++] = (byte) ((nibble(hex, i) << 4) | nibble(hex, i + 1));
+            i += 2;
+        }
+        return position - outOffset;
+    }
+
+    // Returns -1 when the characters aren't all hex digits, instead of throwing
+    public static int tryDecode(final CharSequence hex, final byte[] out, final int outOffset) {
+        final int start = hasPrefix(hex) ? PREFIX.length() : 0;
+        for (int i = start; i < hex.length(); i++) {
+            final char c = hex.charAt(i);
+            if (c >= NIBBLES.length || NIBBLES[c] < 0) return -1;
+        }
+        return decode(hex, out, outOffset);
+    }
+
+    private static int nibble(final CharSequence hex, final int index) {
+        final char c = hex.charAt(index);
+        final int value = c < NIBBLES.length ? NIBBLES[c] : -1;
+        if (value < 0) throw new IllegalArgumentException("Invalid hex character at " + index + ": " + c);
+        return value;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.crypto.util;
+
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * A read-only view of one RLP element inside a larger buffer.
+ *
+ * <p>Unlike {@link RLP#decode(byte[], int)}, nothing is copied. An element only records where
+ * its prefix and payload sit in the original array. List children are found the first time they
+ * are asked for, and {@link #getBytes()} copies the payload only when it is called. Integers of up
+ * to seven bytes are read in place; BigInteger has no constructor for a slice, so longer ones
+ * are copied once.</p>
+ */
+public final class RLPView {
+
+    private static final int OFFSET_SHORT_ITEM = 0x80;
+    private static final int OFFSET_LONG_ITEM = 0xb7;
+    private static final int OFFSET_SHORT_LIST = 0xc0;
+    private static final int OFFSET_LONG_LIST = 0xf7;
+
+    private final byte[] data;
+    private final int offset;
+    private final int payloadOffset;
+    private final int payloadLength;
+    private final boolean isList;
+
+    private RLPView[] children;
+
+    private RLPView(final byte[] data,
+                    final int offset,
+                    final int payloadOffset,
+                    final int payloadLength,
+                    final boolean isList) {
+        this.data = data;
+        this.offset = offset;
+        this.payloadOffset = payloadOffset;
+        this.payloadLength = payloadLength;
+        this.isList = isList;
+    }
+
+    public static RLPView decode(final byte[] data) {
+        return decode(data, 0, data.length);
+    }
+
+    /**
+     * Reads the element starting at offset.
+     *
+     * @param data buffer holding RLP encoded data
+     * @param offset position of the element's prefix
+     * @param limit end of the region the element must fit in
+     * @return view of the element
+     * @throws IllegalArgumentException if the element is malformed or runs past limit
+     */
+    public static RLPView decode(final byte[] data, final int offset, final int limit) {
+        if (offset >= limit) throw new IllegalArgumentException("No RLP element at " + offset);
+        final int prefix = data[offset] & 0xFF;
+
+        if (prefix < OFFSET_SHORT_ITEM) {
+            // A single byte below 0x80 is its own encoding
+            return new RLPView(data, offset, offset, 1, false);
+        } else if (prefix <= OFFSET_LONG_ITEM) {
+            return create(data, offset, limit, 1, prefix - OFFSET_SHORT_ITEM, false);
+        } else if (prefix < OFFSET_SHORT_LIST) {
+            final int lengthOfLength = prefix - OFFSET_LONG_ITEM;
+            return create(data, offset, limit, 1 + lengthOfLength, readLength(data, offset + 1, lengthOfLength, limit), false);
+        } else if (prefix <= OFFSET_LONG_LIST) {
+            return create(data, offset, limit, 1, prefix - OFFSET_SHORT_LIST, true);
+        } else {
+            final int lengthOfLength = prefix - OFFSET_LONG_LIST;
+            return create(data, offset, limit, 1 + lengthOfLength, readLength(data, offset + 1, lengthOfLength, limit), true);
+        }
+    }
+
+    private static RLPView create(final byte[] data,
+                                  final int offset,
+                                  final int limit,
+                                  final int prefixLength,
+                                  final int payloadLength,
+                                  final boolean isList) {
+        final int payloadOffset = offset + prefixLength;
+        if (payloadLength < 0 || payloadOffset + payloadLength > limit || payloadOffset + payloadLength < 0) {
+            throw new IllegalArgumentException("RLP element at " + offset + " runs past the end of the data");
+        }
+        return new RLPView(data, offset, payloadOffset, payloadLength, isList);
+    }
+
+    private static int readLength(final byte[] data, final int offset, final int lengthOfLength, final int limit) {
+        if (lengthOfLength > 4 || offset + lengthOfLength > limit) {
+            throw new IllegalArgumentException("Invalid RLP length at " + offset);
+        }
+        int length = 0;
+        for (int i = 0; i < lengthOfLength; i++) {
+            length = (length << 8) | (data[offset + i] & 0xFF);
+        }
+        return length;
+    }
+
+    public boolean isList() {
+        return this.isList;
+    }
+
+    // An item with no payload; 0x80
+    public boolean isEmpty() {
+        return !this.isList && this.payloadLength == 0;
+    }
+
+    public byte[] getData() {
+        return this.data;
+    }
+
+    // Position of the element's prefix in getData()
+    public int getOffset() {
+        return this.offset;
+    }
+
+    // Length of the element including its prefix
+    public int getEncodedLength() {
+        return this.payloadOffset - this.offset + this.payloadLength;
+    }
+
+    public int getPayloadOffset() {
+        return this.payloadOffset;
+    }
+
+    public int getPayloadLength() {
+        return this.payloadLength;
+    }
+
+    public int size() {
+        return getChildren().length;
+    }
+
+    public RLPView get(final int index) {
+        return getChildren()[index];
+    }
+
+    private RLPView[] getChildren() {
+        if (!this.isList) throw new IllegalStateException("RLP element is not a list");
+        if (this.children != null) return this.children;
+
+        final int end = this.payloadOffset + this.payloadLength;
+        int count = 0;
+        RLPView[] children = new RLPView[4];
+        for (int position = this.payloadOffset; position < end; ) {
+            final RLPView child = decode(this.data, position, end);
+            if (count == children.length) children = Arrays.copyOf(children, count * 2);
+            children[count++] = child;
+            position += child.getEncodedLength();
+        }
+        this.children = count == children.length ? children : Arrays.copyOf(children, count);
+        return this.children;
+    }
+
+    // Copies the payload out of the buffer
+    public byte[] getBytes() {
+        return Arrays.copyOfRange(this.data, this.payloadOffset, this.payloadOffset + this.payloadLength);
+    }
+
+    // Copies the whole element, prefix included, out of the buffer
+    public byte[] getEncoded() {
+        return Arrays.copyOfRange(this.data, this.offset, this.payloadOffset + this.payloadLength);
+    }
+
+    // The payload as an unsigned big-endian integer; an empty item is zero
+    public BigInteger asBigInteger() {
+        if (this.payloadLength == 0) return BigInteger.ZERO;
+        // Seven bytes always fit in a positive long
+        if (this.payloadLength < 8) return BigInteger.valueOf(asLong());
+        return new BigInteger(1, getBytes());
+    }
+
+    // The payload as an unsigned big-endian integer of at most 8 bytes
+    public long asLong() {
+        if (this.isList || this.payloadLength > 8) {
+            throw new IllegalStateException("RLP element does not fit in a long");
+        }
+        long value = 0;
+        for (int i = 0; i < this.payloadLength; i++) {
+            value = (value << 8) | (this.data[this.payloadOffset + i] & 0xFF);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.crypto.util;
+
+
+import java.math.BigInteger;
+
+import static org.spongycastle.util.BigIntegers.asUnsignedByteArray;
+
+/**
+ * Writes RLP into a buffer sized up front.
+ *
+ * <p>Callers add up the {@code *Length} of every element first, allocate the output once with
+ * {@link #listHeaderLength(int)} + payload length, and then write each element in order. Every
+ * {@code write*} method returns the position after what it wrote. Unlike {@link RLP#encode(Object)},
+ * which concatenates a new array for every element, nothing is copied more than once.</p>
+ */
+public final class RLPWriter {
+
+    private static final int SIZE_THRESHOLD = 56;
+    private static final int OFFSET_SHORT_ITEM = 0x80;
+    private static final int OFFSET_LONG_ITEM = 0xb7;
+    private static final int OFFSET_SHORT_LIST = 0xc0;
+    private static final int OFFSET_LONG_LIST = 0xf7;
+
+    private RLPWriter() {}
+
+    public static int itemLength(final byte[] src, final int offset, final int length) {
+        if (length == 1 && (src[offset] & 0xFF) < OFFSET_SHORT_ITEM) return 1;
+        return headerLength(length) + length;
+    }
+
+    public static int itemLength(final byte[] src) {
+        return itemLength(src, 0, src.length);
+    }
+
+    // Zero is encoded as an empty item, as Ethereum integers have no leading zeroes
+    public static int itemLength(final BigInteger value) {
+        if (value.signum() == 0) return 1;
+        final int length = (value.bitLength() + 7) / 8;
+        if (length == 1 && value.intValue() < OFFSET_SHORT_ITEM) return 1;
+        return headerLength(length) + length;
+    }
+
+    public static int itemLength(final long value) {
+        return itemLength(BigInteger.valueOf(value));
+    }
+
+    public static int listHeaderLength(final int payloadLength) {
+        return headerLength(payloadLength);
+    }
+
+    public static int listLength(final int payloadLength) {
+        return headerLength(payloadLength) + payloadLength;
+    }
+
+    public static int writeItem(final byte[] out, final int position, final byte[] src, final int offset, final int length) {
+        if (length == 1 && (src[offset] & 0xFF) < OFFSET_SHORT_ITEM) {
+            out[position] = src[offset];
+            return position + 1;
+        }
+        final int payloadPosition = writeHeader(out, position, length, OFFSET_SHORT_ITEM, OFFSET_LONG_ITEM);
+        System.arraycopy(src, offset, out, payloadPosition, length);
+        return payloadPosition + length;
+    }
+
+    public static int writeItem(final byte[] out, final int position, final byte[] src) {
+        return writeItem(out, position, src, 0, src.length);
+    }
+
+    public static int writeItem(final byte[] out, final int position, final BigInteger value) {
+        if (value.signum() == 0) {
+            out[position] = (byte) OFFSET_SHORT_ITEM;
+            return position + 1;
+        }
+        final byte[] bytes = asUnsignedByteArray(value);
+        return writeItem(out, position, bytes, 0, bytes.length);
+    }
+
+    public static int writeItem(final byte[] out, final int position, final long value) {
+        return writeItem(out, position, BigInteger.valueOf(value));
+    }
+
+    public static int writeListHeader(final byte[] out, final int position, final int payloadLength) {
+        return writeHeader(out, position, payloadLength, OFFSET_SHORT_LIST, OFFSET_LONG_LIST);
+    }
+
+    // Copies already encoded elements, such as a range of an RLPView's buffer, as they are
+    public static int writeRaw(final byte[] out, final int position, final byte[] src, final int offset, final int length) {
+        System.arraycopy(src, offset, out, position, length);
+        return position + length;
+    }
+
+    private static int headerLength(final int payloadLength) {
+        if (payloadLength < SIZE_THRESHOLD) return 1;
+        return 1 + bytesNeeded(payloadLength);
+    }
+
+    private static int writeHeader(final byte[] out,
+                                   final int position,
+                                   final int payloadLength,
+                                   final int shortOffset,
+                                   final int longOffset) {
+        if (payloadLength < SIZE_THRESHOLD) {
+            out[position] = (byte) (shortOffset + payloadLength);
+            return position + 1;
+        }
+        final int lengthOfLength = bytesNeeded(payloadLength);
+        out[position] = (byte) (longOffset + lengthOfLength);
+        for (int i = 0; i < lengthOfLength; i++) {
+            out[position + lengthOfLength - i] = (byte) (payloadLength >>> (8 * i));
+        }
+        return position + 1 + lengthOfLength;
+    }
+
+    private static int bytesNeeded(final int value) {
+        return 4 - Integer.numberOfLeadingZeros(value) / 8;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.toshi.crypto.util;
+
+
+import android.support.annotation.Nullable;
+
+import java.math.BigInteger;
+
+/**
+ * Encodes unsigned EIP-155 transactions on the device.
+ *
+ * <p>The result has the same shape as a {@code /v1/tx/skel} skeleton: the nine fields of a signed
+ * transaction, with the chain id in place of v and empty r and s. It can therefore be signed and
+ * finished off with {@link TypeConverter#skeletonAndSignatureToRLPEncodedHex(String, String)}
+ * exactly like a skeleton from the server.</p>
+ */
+public final class TransactionEncoder {
+
+    private static final int ADDRESS_LENGTH = 20;
+    private static final byte[] EMPTY = new byte[0];
+
+    private TransactionEncoder() {}
+
+    public static String encodeUnsigned(final BigInteger nonce,
+                                        final BigInteger gasPrice,
+                                        final BigInteger gas,
+                                        final String toAddress,
+                                        final BigInteger value,
+                                        @Nullable final byte[] data,
+                                        final long chainId) {
+        final byte[] to = TypeConverter.StringHexToByteArray(toAddress);
+        if (to.length != ADDRESS_LENGTH) throw new IllegalArgumentException("Invalid recipient address");
+        final byte[] payload = data == null ? EMPTY : data;
+
+        final int payloadLength = RLPWriter.itemLength(nonce)
+                + RLPWriter.itemLength(gasPrice)
+                + RLPWriter.itemLength(gas)
+                + RLPWriter.itemLength(to)
+                + RLPWriter.itemLength(value)
+                + RLPWriter.itemLength(payload)
+                + RLPWriter.itemLength(chainId)
+                + RLPWriter.itemLength(EMPTY)
+                + RLPWriter.itemLength(EMPTY);
+
+        final byte[] encoded = new byte[RLPWriter.listLength(payloadLength)];
+        int position = RLPWriter.writeListHeader(encoded, 0, payloadLength);
+        position = RLPWriter.writeItem(encoded, position, nonce);
+        position = RLPWriter.writeItem(encoded, position, gasPrice);
+        position = RLPWriter.writeItem(encoded, position, gas);
+        position = RLPWriter.writeItem(encoded, position, to);
+        position = RLPWriter.writeItem(encoded, position, value);
+        position = RLPWriter.writeItem(encoded, position, payload);
+        position = RLPWriter.writeItem(encoded, position, chainId);
+        position = RLPWriter.writeItem(encoded, position, EMPTY);
+        RLPWriter.writeItem(encoded, position, EMPTY);
+        return TypeConverter.toJsonHex(encoded);
+    }
+}
@@ -24,8 +24,6 @@ import com.toshi.extensions.BigDecimalUtil;
 import com.toshi.util.CurrencyUtil;
 import com.toshi.util.LocaleUtil;
 
-import org.spongycastle.util.encoders.Hex;
-
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
@@ -38,6 +36,10 @@ public class TypeConverter {
             return BigInteger.ZERO;
         }
 
+        final byte[] bytes = new byte[HexCodec.decodedLength(input)];
+        if (HexCodec.tryDecode(input, bytes, 0) >= 0) return new BigInteger(1, bytes);
+
+        // Anything that isn't plain hex digits, such as a sign, goes through BigInteger as before
         final String hexa = input.startsWith("0x") ? input.substring(2) : input;
         try {
             return new BigInteger(hexa, 16);
@@ -46,12 +48,8 @@ public class TypeConverter {
         }
     }
 
-    public static byte[] StringHexToByteArray(String x) {
-        if (x.startsWith("0x")) {
-            x = x.substring(2);
-        }
-        if (x.length() % 2 != 0) x = "0" + x;
-        return Hex.decode(x);
+    public static byte[] StringHexToByteArray(final String x) {
+        return HexCodec.decode(x);
     }
 
     public static String jsonStringToString(final String jsonString) {
@@ -62,7 +60,7 @@ public class TypeConverter {
     }
 
     public static String toJsonHex(final byte[] x) {
-        return "0x"+Hex.toHexString(x);
+        return HexCodec.encode(x, true);
     }
 
     public static String toJsonHex(final String x) {
@@ -71,11 +69,12 @@ public class TypeConverter {
     }
 
     public static String toJsonHex(final long n) {
-        return "0x"+Long.toHexString(n);
+        return HexCodec.encode(n, true);
     }
 
     public static String toJsonHex(final BigInteger n) {
-        return "0x"+ n.toString(16);
+        if (n.signum() < 0) return "0x" + n.toString(16);
+        return HexCodec.encodeQuantity(n.toByteArray(), true);
     }
 
     public static String fromHexToDecimal(final String input) {
@@ -83,39 +82,46 @@ public class TypeConverter {
         return String.valueOf(new BigInteger(hex, 16));
     }
 
+    // Fields 0-5 (nonce, gas price, gas, to, value and data) are copied across untouched;
+    // only v, r and s are re-encoded.
     public static String skeletonAndSignatureToRLPEncodedHex(final String skeleton, final String signature) {
-        final Object[] decoded = (Object[])RLP.decode(TypeConverter.StringHexToByteArray(skeleton), 0).getDecoded();
+        final byte[] skeletonBytes = TypeConverter.StringHexToByteArray(skeleton);
+        final RLPView transaction = RLPView.decode(skeletonBytes);
 
-        if (decoded.length != 9) {
+        if (!transaction.isList() || transaction.size() != 9) {
             throw new IllegalStateException("Invalid Transaction Skeleton: Decoded RLP length is wrong");
         }
 
-        if (!isEmptyString(decoded[decoded.length - 2])
-            ||!isEmptyString(decoded[decoded.length - 1])) {
+        if (!transaction.get(7).isEmpty() || !transaction.get(8).isEmpty()) {
             throw new IllegalStateException("Transaction is already signed!");
         }
 
         final BigInteger r = TypeConverter.StringHexToBigInteger(signature.substring(2, 66));
         final BigInteger s = TypeConverter.StringHexToBigInteger(signature.substring(66, 130));
         final int v = TypeConverter.StringHexToBigInteger(signature.substring(130)).intValue();
-        final int vee = getVee(decoded[decoded.length - 3]);
-
-        decoded[decoded.length - 3] = v + vee;
-        decoded[decoded.length - 2] = r;
-        decoded[decoded.length - 1] = s;
-        return TypeConverter.toJsonHex(RLP.encode(decoded));
-    }
-
-    private static int getVee(final Object obj) {
-        if (obj instanceof byte[]) {
-            int networkId = RLP.decodeInt((byte[]) obj, 0);
-            return 35 + networkId * 2;
-        }
-        return 27;
+        final RLPView vField = transaction.get(6);
+        final BigInteger vee = BigInteger.valueOf(v).add(getVee(vField));
+
+        final int unsignedOffset = transaction.getPayloadOffset();
+        final int unsignedLength = vField.getOffset() - unsignedOffset;
+        final int payloadLength = unsignedLength
+                + RLPWriter.itemLength(vee)
+                + RLPWriter.itemLength(r)
+                + RLPWriter.itemLength(s);
+
+        final byte[] signed = new byte[RLPWriter.listLength(payloadLength)];
+        int position = RLPWriter.writeListHeader(signed, 0, payloadLength);
+        position = RLPWriter.writeRaw(signed, position, skeletonBytes, unsignedOffset, unsignedLength);
+        position = RLPWriter.writeItem(signed, position, vee);
+        position = RLPWriter.writeItem(signed, position, r);
+        RLPWriter.writeItem(signed, position, s);
+        return TypeConverter.toJsonHex(signed);
     }
 
-    private static boolean isEmptyString(final Object obj) {
-        return obj instanceof String && ((String) obj).length() == 0;
+    // An unsigned EIP-155 skeleton carries the chain id in v
+    private static BigInteger getVee(final RLPView chainId) {
+        if (chainId.isEmpty()) return BigInteger.valueOf(27);
+        return chainId.asBigInteger().shiftLeft(1).add(BigInteger.valueOf(35));
     }
 
     // Set pattern to null if you want the original format
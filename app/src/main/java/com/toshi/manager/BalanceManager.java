@@ -22,6 +22,9 @@ import android.content.Context;
 import android.content.SharedPreferences;
 
 import com.toshi.crypto.HDWallet;
+import com.toshi.manager.balance.BalanceRefreshMetrics;
+import com.toshi.manager.balance.BalanceRefresher;
+import com.toshi.manager.balance.TokenCache;
 import com.toshi.manager.network.CurrencyService;
 import com.toshi.manager.network.EthereumService;
 import com.toshi.model.local.Network;
@@ -45,12 +48,14 @@ import com.toshi.util.logging.LogUtil;
 import com.toshi.util.SharedPrefsUtil;
 import com.toshi.view.BaseApplication;
 
+import java.io.File;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
 import java.util.concurrent.TimeUnit;
 
 import rx.Completable;
+import rx.Observable;
 import rx.Single;
 import rx.Subscription;
 import rx.android.schedulers.AndroidSchedulers;
@@ -63,14 +68,24 @@ public class BalanceManager {
 
     private final static BehaviorSubject<Balance> balanceObservable = BehaviorSubject.create();
     private static final String LAST_KNOWN_BALANCE = "lkb";
+    private static final long BALANCE_FRESHNESS_WINDOW = TimeUnit.SECONDS.toMillis(5);
+    private static final String TOKEN_CACHE_DIRECTORY = "tokens";
+    private static final String ERC20_TOKENS = "erc20";
+    private static final String ERC721_TOKENS = "erc721";
 
     private HDWallet wallet;
     private SharedPreferences prefs;
+    private ExchangeRateCache exchangeRateCache;
+    private BalanceRefresher balanceRefresher;
+    private TokenCache tokenCache;
     private Networks networks;
     private Subscription connectivitySub;
 
     /* package */ BalanceManager() {
         initPrefs();
+        initExchangeRateCache();
+        initBalanceRefresher();
+        initTokenCache();
     }
 
     public BehaviorSubject<Balance> getBalanceObservable() {
@@ -90,6 +105,19 @@ public class BalanceManager {
         this.prefs = BaseApplication.get().getSharedPreferences(FileNames.BALANCE_PREFS, Context.MODE_PRIVATE);
     }
 
+    private void initTokenCache() {
+        final File directory = new File(BaseApplication.get().getCacheDir(), TOKEN_CACHE_DIRECTORY);
+        this.tokenCache = new TokenCache(directory);
+    }
+
+    private void initBalanceRefresher() {
+        this.balanceRefresher = new BalanceRefresher(this::getBalance, this::handleNewBalance);
+    }
+
+    private void initExchangeRateCache() {
+        this.exchangeRateCache = new ExchangeRateCache(this::fetchLatestExchangeRate, this.prefs);
+    }
+
     private void initCachedBalance() {
         final Balance cachedBalance = new Balance(readLastKnownBalance());
         handleNewBalance(cachedBalance);
@@ -112,7 +140,18 @@ public class BalanceManager {
     }
 
     private void handleConnectivity() {
-        refreshBalance();
+        // Connectivity flaps often, a balance fetched a few seconds ago is good enough
+        this.balanceRefresher
+                .refresh(BALANCE_FRESHNESS_WINDOW)
+                .subscribe(
+                        () -> {},
+                        this::handleBalanceError
+                );
+        getLocalCurrency()
+                .subscribe(
+                        this.exchangeRateCache::refresh,
+                        throwable -> LogUtil.w("Error while refreshing exchange rate " + throwable)
+                );
         registerEthGcm()
                 .subscribeOn(Schedulers.io())
                 .subscribe(
@@ -122,18 +161,20 @@ public class BalanceManager {
     }
 
     public void refreshBalance() {
-        getBalance()
-                .observeOn(Schedulers.io())
+        this.balanceRefresher
+                .refresh()
                 .subscribe(
-                        this::handleNewBalance,
+                        () -> {},
                         this::handleBalanceError
                 );
     }
 
     public Completable refreshBalanceCompletable() {
-        return getBalance()
-                .doOnSuccess(this::handleNewBalance)
-                .toCompletable();
+        return this.balanceRefresher.refresh();
+    }
+
+    public BalanceRefreshMetrics getBalanceRefreshMetrics() {
+        return this.balanceRefresher.getMetrics();
     }
 
     private Single<Balance> getBalance() {
@@ -145,39 +186,68 @@ public class BalanceManager {
                 .subscribeOn(Schedulers.io());
     }
 
-    public Single<ERC20Tokens> getERC20Tokens() {
+    public Observable<ERC20Tokens> getERC20Tokens() {
         return getWallet()
-                .flatMap(wallet -> EthereumService
-                        .getApi()
-                        .getTokens(wallet.getPaymentAddress())
-                )
+                .flatMapObservable(wallet -> this.tokenCache.get(
+                        getTokenCacheKey(ERC20_TOKENS, wallet),
+                        ERC20Tokens.class,
+                        etag -> EthereumService
+                                .getApi()
+                                .getTokens(wallet.getPaymentAddress(), etag)
+                ))
                 .subscribeOn(Schedulers.io());
     }
 
-    public Single<ERCToken> getERC20Token(final String contractAddress) {
+    public Observable<ERCToken> getERC20Token(final String contractAddress) {
         return getWallet()
-                .flatMap(wallet -> EthereumService
-                        .getApi()
-                        .getToken(wallet.getPaymentAddress(), contractAddress)
-                )
+                .flatMapObservable(wallet -> this.tokenCache.get(
+                        getTokenCacheKey(ERC20_TOKENS, wallet, contractAddress),
+                        ERCToken.class,
+                        etag -> EthereumService
+                                .getApi()
+                                .getToken(wallet.getPaymentAddress(), contractAddress, etag)
+                ))
                 .subscribeOn(Schedulers.io());
     }
 
-    public Single<ERC721Tokens> getERC721Tokens() {
+    public Observable<ERC721Tokens> getERC721Tokens() {
         return getWallet()
-                .flatMap(wallet -> EthereumService
-                        .getApi()
-                        .getCollectibles(wallet.getPaymentAddress())
-                )
+                .flatMapObservable(wallet -> this.tokenCache.get(
+                        getTokenCacheKey(ERC721_TOKENS, wallet),
+                        ERC721Tokens.class,
+                        etag -> EthereumService
+                                .getApi()
+                                .getCollectibles(wallet.getPaymentAddress(), etag)
+                ))
                 .subscribeOn(Schedulers.io());
     }
 
-    public Single<ERC721TokenWrapper> getERC721Token(final String contactAddress) {
+    public Observable<ERC721TokenWrapper> getERC721Token(final String contactAddress) {
         return getWallet()
-                .flatMap(wallet -> EthereumService
-                        .getApi()
-                        .getCollectible(wallet.getPaymentAddress(), contactAddress)
-                ).subscribeOn(Schedulers.io());
+                .flatMapObservable(wallet -> this.tokenCache.get(
+                        getTokenCacheKey(ERC721_TOKENS, wallet, contactAddress),
+                        ERC721TokenWrapper.class,
+                        etag -> EthereumService
+                                .getApi()
+                                .getCollectible(wallet.getPaymentAddress(), contactAddress, etag)
+                ))
+                .subscribeOn(Schedulers.io());
+    }
+
+    // An incoming token payment changes the token list and the balance of that one token
+    public void invalidateERC20Token(final String contractAddress) {
+        if (this.wallet == null) return;
+        this.tokenCache.invalidate(getTokenCacheKey(ERC20_TOKENS, this.wallet));
+        this.tokenCache.invalidate(getTokenCacheKey(ERC20_TOKENS, this.wallet, contractAddress));
+    }
+
+    private String getTokenCacheKey(final String type, final HDWallet wallet) {
+        final String networkId = Networks.getInstance().getCurrentNetwork().getId();
+        return String.format("%s_%s_%s", type, networkId, wallet.getPaymentAddress());
+    }
+
+    private String getTokenCacheKey(final String type, final HDWallet wallet, final String contractAddress) {
+        return String.format("%s_%s", getTokenCacheKey(type, wallet), contractAddress);
     }
 
     private void handleNewBalance(final Balance balance) {
@@ -191,11 +261,18 @@ public class BalanceManager {
 
     public Single<ExchangeRate> getLocalCurrencyExchangeRate() {
         return getLocalCurrency()
-                .flatMap((code) -> fetchLatestExchangeRate(code)
+                .flatMap((code) -> this.exchangeRateCache.get(code)
                 .subscribeOn(Schedulers.io())
                 .observeOn(AndroidSchedulers.mainThread()));
     }
 
+    public Observable<ExchangeRate> getLocalCurrencyExchangeRateObservable() {
+        return getLocalCurrency()
+                .flatMapObservable(this.exchangeRateCache::observe)
+                .subscribeOn(Schedulers.io())
+                .observeOn(AndroidSchedulers.mainThread());
+    }
+
     private Single<ExchangeRate> fetchLatestExchangeRate(final String code) {
         return CurrencyService
                 .getApi()
@@ -318,7 +395,7 @@ public class BalanceManager {
     public Completable unregisterFromEthGcm(final String token) {
         final String currentNetworkId = this.networks.getCurrentNetwork().getId();
         return EthereumService
-                .getApi()
+                .getServerClock()
                 .getTimestamp()
                 .subscribeOn(Schedulers.io())
                 .flatMapCompletable((st) -> unregisterEthGcmWithTimestamp(token, st))
@@ -349,7 +426,7 @@ public class BalanceManager {
 
     private Completable registerEthGcmToken(final String token) {
         return EthereumService
-                .getApi()
+                .getServerClock()
                 .getTimestamp()
                 .subscribeOn(Schedulers.io())
                 .observeOn(Schedulers.io())
@@ -382,6 +459,8 @@ public class BalanceManager {
 
     public void clear() {
         clearConnectivitySubscription();
+        this.exchangeRateCache.clear();
+        this.tokenCache.clear();
         this.prefs
                 .edit()
                 .clear()
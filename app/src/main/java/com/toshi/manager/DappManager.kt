@@ -17,23 +17,54 @@
 
 package com.toshi.manager
 
+import com.toshi.manager.dapp.DappCatalogue
 import com.toshi.manager.network.DirectoryService
+import com.toshi.model.network.dapp.Dapp
 import com.toshi.model.network.dapp.DappResult
 import com.toshi.model.network.dapp.DappSearchResult
 import com.toshi.model.network.dapp.DappSections
+import com.toshi.model.network.dapp.Dapps
+import com.toshi.view.BaseApplication
 import rx.Single
 import rx.schedulers.Schedulers
+import java.io.File
 
 class DappManager {
 
+    companion object {
+        private const val PAGE_SIZE = 20
+        private const val CATALOGUE_DIRECTORY = "dapps"
+    }
+
+    private val catalogue by lazy { DappCatalogue(File(BaseApplication.get().filesDir, CATALOGUE_DIRECTORY)) }
+
+    // Fetches the front page, and falls back to the last one fetched when offline
     fun getFrontPageDapps(): Single<DappSections> {
+        catalogue.syncIfNeeded()
         return DirectoryService
                 .get()
                 .getFrontpageDapps()
                 .subscribeOn(Schedulers.io())
+                .doOnSuccess { catalogue.storeFrontPage(it) }
+                .onErrorResumeNext { error ->
+                    catalogue
+                            .getFrontPage()
+                            .flatMap { it?.let { Single.just(it) } ?: Single.error(error) }
+                }
     }
 
+    // Searches the local catalogue, and only goes to the network before the first sync
     fun search(input: String): Single<DappSearchResult> {
+        catalogue.syncIfNeeded()
+        return catalogue
+                .getSnapshot()
+                .flatMap { snapshot ->
+                    if (snapshot.isEmpty()) searchRemotely(input)
+                    else Single.just(toSearchResult(snapshot.index.search(input), snapshot.categories))
+                }
+    }
+
+    private fun searchRemotely(input: String): Single<DappSearchResult> {
         return DirectoryService
                 .get()
                 .search(input)
@@ -41,24 +72,45 @@ class DappManager {
     }
 
     fun getAllDapps(): Single<DappSearchResult> {
-        return DirectoryService
-                .get()
-                .getAllDapps()
-                .subscribeOn(Schedulers.io())
+        catalogue.syncIfNeeded()
+        return catalogue
+                .getSnapshot()
+                .flatMap { snapshot ->
+                    if (snapshot.isEmpty()) DirectoryService.get().getAllDapps().subscribeOn(Schedulers.io())
+                    else Single.just(toSearchResult(snapshot.dapps, snapshot.categories))
+                }
     }
 
     fun getAllDappsWithOffset(offset: Int): Single<DappSearchResult> {
-        return DirectoryService
-                .get()
-                .getAllDappsWithOffset(offset, 20)
-                .subscribeOn(Schedulers.io())
+        catalogue.syncIfNeeded()
+        return catalogue
+                .getSnapshot()
+                .flatMap { snapshot ->
+                    if (snapshot.isEmpty()) DirectoryService.get().getAllDappsWithOffset(offset, PAGE_SIZE).subscribeOn(Schedulers.io())
+                    else Single.just(toPagedSearchResult(snapshot.dapps, snapshot.categories, offset))
+                }
     }
 
     fun getAllDappsInCategoryWithOffset(categoryId: Int, offset: Int): Single<DappSearchResult> {
-        return DirectoryService
-                .get()
-                .getAllDappsInCategory(categoryId, offset, 20)
-                .subscribeOn(Schedulers.io())
+        catalogue.syncIfNeeded()
+        return catalogue
+                .getSnapshot()
+                .flatMap { snapshot ->
+                    if (snapshot.isEmpty()) DirectoryService.get().getAllDappsInCategory(categoryId, offset, PAGE_SIZE).subscribeOn(Schedulers.io())
+                    else {
+                        val dappsInCategory = snapshot.dapps.filter { it.categories.contains(categoryId) }
+                        Single.just(toPagedSearchResult(dappsInCategory, snapshot.categories, offset))
+                    }
+                }
+    }
+
+    private fun toSearchResult(dapps: List<Dapp>, categories: Map<Int, String>): DappSearchResult {
+        return DappSearchResult(Dapps(dapps, categories), 0, dapps.size, dapps.size)
+    }
+
+    private fun toPagedSearchResult(dapps: List<Dapp>, categories: Map<Int, String>, offset: Int): DappSearchResult {
+        val page = dapps.drop(offset).take(PAGE_SIZE)
+        return DappSearchResult(Dapps(page, categories), offset, PAGE_SIZE, dapps.size)
     }
 
     fun getDapp(dappId: Long): Single<DappResult> {
@@ -67,4 +119,4 @@ class DappManager {
                 .getDapp(dappId)
                 .subscribeOn(Schedulers.io())
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,192 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager;
+
+
+import android.content.SharedPreferences;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.Moshi;
+import com.toshi.model.adapter.BigDecimalAdapter;
+import com.toshi.model.network.ExchangeRate;
+import com.toshi.util.logging.LogUtil;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import rx.Observable;
+import rx.Single;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.subjects.BehaviorSubject;
+
+// Caches exchange rates per currency code, in memory and in the given preferences so
+// rates survive restarts. A fresh rate is returned as is, a stale one is returned
+// while a refresh runs in the background, and concurrent fetches of the same code
+// share a single request.
+/* package */ class ExchangeRateCache {
+
+    private static final long FRESH_FOR = TimeUnit.MINUTES.toMillis(5);
+    private static final long USABLE_FOR = TimeUnit.DAYS.toMillis(1);
+    private static final String RATE_KEY_PREFIX = "exchangeRate_";
+    private static final String FETCHED_AT_KEY_PREFIX = "exchangeRateFetchedAt_";
+
+    private final Func1<String, Single<ExchangeRate>> rateSource;
+    private final SharedPreferences prefs;
+    private final Func0<Long> clock;
+    private final JsonAdapter<ExchangeRate> jsonAdapter;
+    private final Map<String, CachedRate> rates = new HashMap<>();
+    private final Map<String, Observable<ExchangeRate>> inFlightRequests = new HashMap<>();
+    private final Map<String, BehaviorSubject<ExchangeRate>> rateSubjects = new HashMap<>();
+
+    /* package */ ExchangeRateCache(final Func1<String, Single<ExchangeRate>> rateSource,
+                                    final SharedPreferences prefs) {
+        this(rateSource, prefs, System::currentTimeMillis);
+    }
+
+    // Fetch times are persisted, so the clock has to be wall clock time
+    /* package */ ExchangeRateCache(final Func1<String, Single<ExchangeRate>> rateSource,
+                                    final SharedPreferences prefs,
+                                    final Func0<Long> clock) {
+        this.rateSource = rateSource;
+        this.prefs = prefs;
+        this.clock = clock;
+        this.jsonAdapter = new Moshi.Builder()
+                .add(new BigDecimalAdapter())
+                .build()
+                .adapter(ExchangeRate.class);
+    }
+
+    /* package */ synchronized Single<ExchangeRate> get(final String code) {
+        final CachedRate cachedRate = getCachedRate(code);
+        if (cachedRate == null) return fetch(code);
+
+        final long age = this.clock.call() - cachedRate.fetchedAt;
+        // A negative age means the clock has moved back, so the rate can't be trusted as fresh
+        if (age >= 0 && age < FRESH_FOR) return Single.just(cachedRate.rate);
+        if (age < USABLE_FOR) {
+            refresh(code);
+            return Single.just(cachedRate.rate);
+        }
+        return fetch(code);
+    }
+
+    // Emits the latest known rate for the code, and every rate fetched afterwards
+    /* package */ synchronized Observable<ExchangeRate> observe(final String code) {
+        final BehaviorSubject<ExchangeRate> subject = getRateSubject(code);
+        get(code).subscribe(
+                __ -> {},
+                throwable -> LogUtil.w("Error while fetching exchange rate " + throwable)
+        );
+        return subject.asObservable();
+    }
+
+    /* package */ void refresh(final String code) {
+        fetch(code).subscribe(
+                __ -> {},
+                throwable -> LogUtil.w("Error while refreshing exchange rate " + throwable)
+        );
+    }
+
+    private synchronized Single<ExchangeRate> fetch(final String code) {
+        final Observable<ExchangeRate> inFlightRequest = this.inFlightRequests.get(code);
+        if (inFlightRequest != null) return inFlightRequest.toSingle();
+
+        final Observable<ExchangeRate> request = this.rateSource
+                .call(code)
+                .toObservable()
+                .doOnNext(rate -> handleNewRate(code, rate))
+                .doOnTerminate(() -> removeInFlightRequest(code))
+                .cache();
+        this.inFlightRequests.put(code, request);
+        return request.toSingle();
+    }
+
+    private synchronized void removeInFlightRequest(final String code) {
+        this.inFlightRequests.remove(code);
+    }
+
+    private synchronized void handleNewRate(final String code, final ExchangeRate rate) {
+        final CachedRate cachedRate = new CachedRate(rate, this.clock.call());
+        this.rates.put(code, cachedRate);
+        writeCachedRate(code, cachedRate);
+        getRateSubject(code).onNext(rate);
+    }
+
+    private BehaviorSubject<ExchangeRate> getRateSubject(final String code) {
+        BehaviorSubject<ExchangeRate> subject = this.rateSubjects.get(code);
+        if (subject != null) return subject;
+
+        final CachedRate cachedRate = getCachedRate(code);
+        subject = cachedRate != null
+                ? BehaviorSubject.create(cachedRate.rate)
+                : BehaviorSubject.create();
+        this.rateSubjects.put(code, subject);
+        return subject;
+    }
+
+    private CachedRate getCachedRate(final String code) {
+        final CachedRate cachedRate = this.rates.get(code);
+        if (cachedRate != null) return cachedRate;
+
+        final CachedRate persistedRate = readCachedRate(code);
+        if (persistedRate != null) this.rates.put(code, persistedRate);
+        return persistedRate;
+    }
+
+    private CachedRate readCachedRate(final String code) {
+        final String json = this.prefs.getString(RATE_KEY_PREFIX + code, null);
+        if (json == null) return null;
+        try {
+            final ExchangeRate rate = this.jsonAdapter.fromJson(json);
+            if (rate == null || rate.getRate() == null) return null;
+            final long fetchedAt = this.prefs.getLong(FETCHED_AT_KEY_PREFIX + code, 0);
+            return new CachedRate(rate, fetchedAt);
+        } catch (final IOException ex) {
+            LogUtil.exception("Unable to read cached exchange rate", ex);
+            return null;
+        }
+    }
+
+    private void writeCachedRate(final String code, final CachedRate cachedRate) {
+        this.prefs
+                .edit()
+                .putString(RATE_KEY_PREFIX + code, this.jsonAdapter.toJson(cachedRate.rate))
+                .putLong(FETCHED_AT_KEY_PREFIX + code, cachedRate.fetchedAt)
+                .apply();
+    }
+
+    // Persisted rates live in the preferences and are removed when those are cleared
+    /* package */ synchronized void clear() {
+        this.rates.clear();
+        this.inFlightRequests.clear();
+        this.rateSubjects.clear();
+    }
+
+    private static class CachedRate {
+        private final ExchangeRate rate;
+        private final long fetchedAt;
+
+        private CachedRate(final ExchangeRate rate, final long fetchedAt) {
+            this.rate = rate;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+}
@@ -265,7 +265,7 @@ public class RecipientManager {
 
     public Single<ServerTime> getTimestamp() {
         return IdService
-                .getApi()
+                .getServerClock()
                 .getTimestamp();
     }
 
@@ -23,11 +23,14 @@ import android.widget.Toast;
 import com.toshi.R;
 import com.toshi.crypto.HDWallet;
 import com.toshi.crypto.signal.SignalPreferences;
+import com.toshi.manager.store.AvatarFileStore;
 import com.toshi.manager.store.DbMigration;
 import com.toshi.util.ImageUtil;
 import com.toshi.util.logging.LogUtil;
+import com.toshi.util.logging.StartupTiming;
 import com.toshi.util.SharedPrefsUtil;
 import com.toshi.view.BaseApplication;
+import com.toshi.view.notification.NotificationIconCache;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -35,6 +38,7 @@ import java.util.concurrent.Executors;
 import io.realm.Realm;
 import io.realm.RealmConfiguration;
 import rx.Completable;
+import rx.Observable;
 import rx.Single;
 import rx.android.schedulers.AndroidSchedulers;
 import rx.schedulers.Schedulers;
@@ -121,6 +125,7 @@ public class ToshiManager {
         if (this.areManagersInitialised) return Completable.complete();
         return Completable.fromAction(() -> {
             initRealm();
+            StartupTiming.mark("realm opened");
             this.transactionManager.init(this.wallet);
             this.reputationManager = new ReputationManager();
         })
@@ -132,7 +137,13 @@ public class ToshiManager {
         ))
         .observeOn(AndroidSchedulers.mainThread())
         .doOnError(this::handleInitManagersError)
-        .doOnCompleted(() -> this.areManagersInitialised = true);
+        .doOnCompleted(() -> this.areManagersInitialised = true)
+        .doOnCompleted(this::reportStartupTiming);
+    }
+
+    private void reportStartupTiming() {
+        StartupTiming.mark("managers initialised");
+        StartupTiming.report();
     }
 
     private void handleInitManagersError(final Throwable throwable) {
@@ -151,7 +162,7 @@ public class ToshiManager {
         Realm.init(BaseApplication.get());
         this.realmConfig = new RealmConfiguration
                 .Builder()
-                .schemaVersion(20)
+                .schemaVersion(21)
                 .migration(new DbMigration(this.wallet))
                 .name(this.wallet.getOwnerAddress())
                 .encryptionKey(key)
@@ -211,6 +222,10 @@ public class ToshiManager {
                 .toSingle();
     }
 
+    public Observable<HDWallet> getWalletObservable() {
+        return this.walletSubject.asObservable();
+    }
+
     public void signOut() {
         clearWalletAndSignal();
         clearMessageSession();
@@ -236,6 +251,8 @@ public class ToshiManager {
         this.areManagersInitialised = false;
         closeDatabase();
         ImageUtil.clear();
+        NotificationIconCache.clear();
+        AvatarFileStore.clearMemoryCache();
         setWallet(null);
     }
 
@@ -26,6 +26,7 @@ import com.toshi.manager.model.ToshiPaymentTask;
 import com.toshi.manager.model.W3PaymentTask;
 import com.toshi.manager.store.PendingTransactionStore;
 import com.toshi.manager.transaction.IncomingTransactionManager;
+import com.toshi.manager.transaction.LocalTransactionBuilder;
 import com.toshi.manager.transaction.OutgoingTransactionManager;
 import com.toshi.manager.transaction.TransactionSigner;
 import com.toshi.manager.transaction.UpdateTransactionManager;
@@ -51,6 +52,7 @@ public class TransactionManager {
 
     private HDWallet wallet;
     private PendingTransactionStore pendingTransactionStore;
+    private LocalTransactionBuilder localTransactionBuilder;
     private PaymentTaskBuilder paymentTaskBuilder;
     private IncomingTransactionManager incomingTransactionManager;
     private OutgoingTransactionManager outgoingTransactionManager;
@@ -61,6 +63,7 @@ public class TransactionManager {
     /*package */ TransactionManager() {
         initDatabase();
         initSubscriptions();
+        initLocalTransactionBuilder();
         initPaymentTaskBuilder();
         initIncomingTransactionManager();
         initTransactionSigner();
@@ -76,8 +79,12 @@ public class TransactionManager {
         this.subscriptions = new CompositeSubscription();
     }
 
+    private void initLocalTransactionBuilder() {
+        this.localTransactionBuilder = new LocalTransactionBuilder();
+    }
+
     private void initPaymentTaskBuilder() {
-        this.paymentTaskBuilder = new PaymentTaskBuilder();
+        this.paymentTaskBuilder = new PaymentTaskBuilder(this.localTransactionBuilder);
     }
 
     private void initIncomingTransactionManager() {
@@ -85,7 +92,7 @@ public class TransactionManager {
     }
 
     private void initTransactionSigner() {
-        this.transactionSigner = new TransactionSigner();
+        this.transactionSigner = new TransactionSigner(this.localTransactionBuilder);
     }
 
     private void initOutgoingTransactionManager() {
@@ -219,6 +226,6 @@ public class TransactionManager {
         this.subscriptions.clear();
         this.incomingTransactionManager.clearSubscriptions();
         this.outgoingTransactionManager.clearSubscriptions();
-        this.updateTransactionManager.clearSubscription();
+        this.updateTransactionManager.clear();
     }
 }
\ No newline at end of file
@@ -215,7 +215,7 @@ class UserManager {
 
     private fun uploadFile(body: MultipartBody.Part, time: ServerTime) = IdService.getApi().uploadFile(body, time.get())
 
-    private fun getTimestamp() = IdService.getApi().timestamp
+    private fun getTimestamp() = IdService.getServerClock().timestamp
 
     fun webLogin(loginToken: String): Completable {
         return getTimestamp()
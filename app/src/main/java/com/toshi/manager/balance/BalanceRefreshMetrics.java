@@ -0,0 +1,76 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.balance;
+
+public class BalanceRefreshMetrics {
+
+    private long triggerCount;
+    private long requestCount;
+    private long coalescedCount;
+    private long skippedCount;
+    private long failedCount;
+
+    /* package */ synchronized void onTriggered() {
+        this.triggerCount++;
+    }
+
+    /* package */ synchronized void onRequested() {
+        this.requestCount++;
+    }
+
+    /* package */ synchronized void onCoalesced() {
+        this.coalescedCount++;
+    }
+
+    /* package */ synchronized void onSkipped() {
+        this.skippedCount++;
+    }
+
+    /* package */ synchronized void onFailed() {
+        this.failedCount++;
+    }
+
+    public synchronized long getTriggerCount() {
+        return this.triggerCount;
+    }
+
+    public synchronized long getRequestCount() {
+        return this.requestCount;
+    }
+
+    public synchronized long getCoalescedCount() {
+        return this.coalescedCount;
+    }
+
+    public synchronized long getSkippedCount() {
+        return this.skippedCount;
+    }
+
+    public synchronized long getFailedCount() {
+        return this.failedCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "triggers=" + this.triggerCount
+                + ", requests=" + this.requestCount
+                + ", coalesced=" + this.coalescedCount
+                + ", skipped=" + this.skippedCount
+                + ", failed=" + this.failedCount;
+    }
+}
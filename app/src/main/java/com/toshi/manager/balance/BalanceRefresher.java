@@ -0,0 +1,130 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.balance;
+
+import android.os.SystemClock;
+
+import com.toshi.model.network.Balance;
+
+import rx.Completable;
+import rx.Single;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.subjects.AsyncSubject;
+
+// Makes sure only one balance request is in flight. Triggers that arrive while a request
+// is running are merged into a single trailing request, which starts when the running
+// one finishes, so the balance is always fetched after the latest trigger.
+public class BalanceRefresher {
+
+    private final Func0<Single<Balance>> balanceSource;
+    private final Action1<Balance> balanceHandler;
+    private final BalanceRefreshMetrics metrics;
+    private final Func0<Long> clock;
+
+    private AsyncSubject<Balance> inFlightRequest;
+    private AsyncSubject<Balance> trailingRequest;
+    private long lastRefreshedAt;
+    private boolean hasRefreshed;
+
+    public BalanceRefresher(final Func0<Single<Balance>> balanceSource,
+                            final Action1<Balance> balanceHandler) {
+        this(balanceSource, balanceHandler, SystemClock::elapsedRealtime);
+    }
+
+    public BalanceRefresher(final Func0<Single<Balance>> balanceSource,
+                            final Action1<Balance> balanceHandler,
+                            final Func0<Long> clock) {
+        this.balanceSource = balanceSource;
+        this.balanceHandler = balanceHandler;
+        this.clock = clock;
+        this.metrics = new BalanceRefreshMetrics();
+    }
+
+    public Completable refresh() {
+        return refresh(0);
+    }
+
+    // Completes without a request if the balance was refreshed less than maxAgeMs ago
+    public synchronized Completable refresh(final long maxAgeMs) {
+        this.metrics.onTriggered();
+
+        if (isFresh(maxAgeMs)) {
+            this.metrics.onSkipped();
+            return Completable.complete();
+        }
+
+        if (this.inFlightRequest == null) {
+            final AsyncSubject<Balance> request = AsyncSubject.create();
+            startRequest(request);
+            return request.toCompletable();
+        }
+
+        if (this.trailingRequest == null) {
+            this.trailingRequest = AsyncSubject.create();
+        } else {
+            this.metrics.onCoalesced();
+        }
+        return this.trailingRequest.toCompletable();
+    }
+
+    private boolean isFresh(final long maxAgeMs) {
+        return maxAgeMs > 0
+                && this.hasRefreshed
+                && this.clock.call() - this.lastRefreshedAt < maxAgeMs;
+    }
+
+    private void startRequest(final AsyncSubject<Balance> request) {
+        this.inFlightRequest = request;
+        this.metrics.onRequested();
+        this.balanceSource
+                .call()
+                .subscribe(
+                        balance -> handleBalance(request, balance),
+                        throwable -> handleError(request, throwable)
+                );
+    }
+
+    private synchronized void handleBalance(final AsyncSubject<Balance> request, final Balance balance) {
+        this.lastRefreshedAt = this.clock.call();
+        this.hasRefreshed = true;
+        this.balanceHandler.call(balance);
+        startTrailingRequest();
+        request.onNext(balance);
+        request.onCompleted();
+    }
+
+    private synchronized void handleError(final AsyncSubject<Balance> request, final Throwable throwable) {
+        this.metrics.onFailed();
+        startTrailingRequest();
+        request.onError(throwable);
+    }
+
+    private void startTrailingRequest() {
+        this.inFlightRequest = null;
+        if (this.trailingRequest == null) return;
+
+        final AsyncSubject<Balance> request = this.trailingRequest;
+        this.trailingRequest = null;
+        startRequest(request);
+    }
+
+    public BalanceRefreshMetrics getMetrics() {
+        return this.metrics;
+    }
+}
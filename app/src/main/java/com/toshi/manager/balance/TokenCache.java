@@ -0,0 +1,186 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.balance;
+
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.Moshi;
+import com.toshi.model.adapter.BigIntegerAdapter;
+import com.toshi.util.FileUtil;
+import com.toshi.util.logging.LogUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+import retrofit2.HttpException;
+import retrofit2.Response;
+import rx.Observable;
+import rx.Single;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+
+// Stores token and collectible responses on disk and serves them stale-while-revalidate:
+// a cached response is emitted straight away and, unless it was fetched very recently,
+// followed by the response of a conditional request if the server says it has changed.
+public class TokenCache {
+
+    private static final long FRESH_FOR = TimeUnit.SECONDS.toMillis(30);
+    private static final String ETAG = "ETag";
+
+    private final File directory;
+    private final Moshi moshi;
+    private final JsonAdapter<CachedEntry> entryAdapter;
+    // Bumped by invalidate and clear, so a response to a request made before then isn't written back
+    private long generation;
+
+    public TokenCache(final File directory) {
+        this.directory = directory;
+        this.moshi = new Moshi.Builder()
+                .add(new BigIntegerAdapter())
+                .build();
+        this.entryAdapter = this.moshi.adapter(CachedEntry.class);
+    }
+
+    // The request is called with the ETag of the cached response, or null if there is none
+    public <T> Observable<T> get(final String key,
+                                 final Class<T> type,
+                                 final Func1<String, Single<Response<T>>> request) {
+        return Observable.defer(() -> {
+            final CachedEntry cachedEntry = read(key);
+            final T cachedValue = cachedEntry != null ? parse(cachedEntry, type) : null;
+            if (cachedValue == null) return fetch(key, type, request, null);
+            if (cachedEntry.isFresh()) return Observable.just(cachedValue);
+
+            final Observable<T> revalidation = fetch(key, type, request, cachedEntry)
+                    .onErrorResumeNext(throwable -> {
+                        LogUtil.w("Error while revalidating " + key + " " + throwable);
+                        return Observable.empty();
+                    });
+            return Observable.concat(Observable.just(cachedValue), revalidation);
+        })
+        .subscribeOn(Schedulers.io());
+    }
+
+    private <T> Observable<T> fetch(final String key,
+                                    final Class<T> type,
+                                    final Func1<String, Single<Response<T>>> request,
+                                    final CachedEntry cachedEntry) {
+        final String etag = cachedEntry != null ? cachedEntry.etag : null;
+        final long generation = getGeneration();
+        return request
+                .call(etag)
+                .toObservable()
+                .flatMap(response -> handleResponse(key, type, response, cachedEntry, generation));
+    }
+
+    private <T> Observable<T> handleResponse(final String key,
+                                             final Class<T> type,
+                                             final Response<T> response,
+                                             final CachedEntry cachedEntry,
+                                             final long generation) {
+        if (response.code() == 304 && cachedEntry != null) {
+            write(key, new CachedEntry(cachedEntry.etag, cachedEntry.body), generation);
+            return Observable.empty();
+        }
+        if (!response.isSuccessful() || response.body() == null) {
+            return Observable.error(new HttpException(response));
+        }
+
+        final T value = response.body();
+        final String body = this.moshi.adapter(type).toJson(value);
+        write(key, new CachedEntry(response.headers().get(ETAG), body), generation);
+        return Observable.just(value);
+    }
+
+    public synchronized void invalidate(final String key) {
+        this.generation++;
+        final File file = getFile(key);
+        if (file.exists() && !file.delete()) {
+            LogUtil.w("Unable to invalidate cached tokens for " + key);
+        }
+    }
+
+    public synchronized void clear() {
+        this.generation++;
+        FileUtil.deleteRecursively(this.directory);
+    }
+
+    private synchronized CachedEntry read(final String key) {
+        final File file = getFile(key);
+        if (!file.exists()) return null;
+        try (final BufferedSource source = Okio.buffer(Okio.source(file))) {
+            return this.entryAdapter.fromJson(source);
+        } catch (final IOException | RuntimeException ex) {
+            LogUtil.exception("Unable to read cached tokens for " + key, ex);
+            return null;
+        }
+    }
+
+    private synchronized long getGeneration() {
+        return this.generation;
+    }
+
+    private synchronized void write(final String key, final CachedEntry entry, final long generation) {
+        if (generation != this.generation) return;
+        if (!this.directory.exists() && !this.directory.mkdirs()) return;
+        final File tempFile = new File(this.directory, key + ".tmp");
+        try (final BufferedSink sink = Okio.buffer(Okio.sink(tempFile))) {
+            this.entryAdapter.toJson(sink, entry);
+        } catch (final IOException ex) {
+            LogUtil.exception("Unable to cache tokens for " + key, ex);
+            return;
+        }
+        if (!tempFile.renameTo(getFile(key))) LogUtil.w("Unable to cache tokens for " + key);
+    }
+
+    private <T> T parse(final CachedEntry entry, final Class<T> type) {
+        try {
+            return this.moshi.adapter(type).fromJson(entry.body);
+        } catch (final IOException | RuntimeException ex) {
+            LogUtil.exception("Unable to parse cached tokens", ex);
+            return null;
+        }
+    }
+
+    private File getFile(final String key) {
+        return new File(this.directory, key + ".json");
+    }
+
+    private static class CachedEntry {
+        private String etag;
+        private String body;
+        private long fetchedAt;
+
+        private CachedEntry() {}
+
+        private CachedEntry(final String etag, final String body) {
+            this.etag = etag;
+            this.body = body;
+            this.fetchedAt = System.currentTimeMillis();
+        }
+
+        private boolean isFresh() {
+            final long age = System.currentTimeMillis() - this.fetchedAt;
+            return age >= 0 && age < FRESH_FOR;
+        }
+    }
+}
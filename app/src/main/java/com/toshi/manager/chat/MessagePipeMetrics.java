@@ -0,0 +1,75 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.chat;
+
+import android.os.SystemClock;
+
+public class MessagePipeMetrics {
+
+    private int reconnectCount;
+    private int connectionCount;
+    private long connectedSince;
+    private long totalTimeConnected;
+    private long messagesOnConnection;
+    private long totalMessages;
+
+    /* package */ synchronized void onConnected() {
+        if (this.connectionCount > 0) this.reconnectCount++;
+        this.connectionCount++;
+        this.connectedSince = SystemClock.elapsedRealtime();
+        this.messagesOnConnection = 0;
+    }
+
+    /* package */ synchronized void onDisconnected() {
+        if (this.connectedSince == 0) return;
+        this.totalTimeConnected += SystemClock.elapsedRealtime() - this.connectedSince;
+        this.connectedSince = 0;
+    }
+
+    /* package */ synchronized void onMessageReceived() {
+        this.messagesOnConnection++;
+        this.totalMessages++;
+    }
+
+    public synchronized int getReconnectCount() {
+        return this.reconnectCount;
+    }
+
+    public synchronized long getTotalTimeConnected() {
+        final long currentConnection = this.connectedSince == 0
+                ? 0
+                : SystemClock.elapsedRealtime() - this.connectedSince;
+        return this.totalTimeConnected + currentConnection;
+    }
+
+    public synchronized long getMessagesOnConnection() {
+        return this.messagesOnConnection;
+    }
+
+    public synchronized double getAverageMessagesPerConnection() {
+        return this.connectionCount == 0 ? 0 : (double) this.totalMessages / this.connectionCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "reconnects=" + this.reconnectCount
+                + ", timeConnectedMs=" + getTotalTimeConnected()
+                + ", messagesOnConnection=" + this.messagesOnConnection
+                + ", averageMessagesPerConnection=" + getAverageMessagesPerConnection();
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.chat;
+
+
+import android.support.annotation.NonNull;
+import android.support.annotation.WorkerThread;
+
+import com.toshi.model.local.IncomingMessage;
+import com.toshi.util.ExponentialBackoff;
+import com.toshi.util.logging.LogUtil;
+import com.toshi.view.BaseApplication;
+
+import org.whispersystems.libsignal.InvalidVersionException;
+import org.whispersystems.signalservice.api.SignalServiceMessagePipe;
+import org.whispersystems.signalservice.api.SignalServiceMessageReceiver;
+import org.whispersystems.signalservice.api.messages.SignalServiceEnvelope;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import rx.Observable;
+import rx.Scheduler;
+import rx.functions.Func1;
+import rx.subjects.PublishSubject;
+
+// Owns the Signal message pipe and keeps it alive while messages are being received.
+// Idle pipes are read with increasingly long timeouts to reduce wakeups, and a broken
+// pipe is reconnected with exponential backoff, or straight away when the network comes back.
+// The pipe has a single reader: all subscribers share one read loop on the pipe scheduler, and each
+// envelope is handled on that same thread before the next one is read.
+public class MessagePipeSupervisor {
+
+    private static final long MIN_READ_TIMEOUT_SECONDS = 10;
+    private static final long MAX_READ_TIMEOUT_SECONDS = 60;
+    private static final long MIN_RECONNECT_DELAY_MS = 1000;
+    private static final long MAX_RECONNECT_DELAY_MS = 1000 * 60 * 2;
+
+    private final SignalServiceMessageReceiver messageReceiver;
+    private final Scheduler pipeScheduler;
+    private final Func1<SignalServiceEnvelope, IncomingMessage> envelopeHandler;
+    private final MessagePipeMetrics metrics;
+    private final ExponentialBackoff readTimeout;
+    private final ExponentialBackoff reconnectDelay;
+    private final PublishSubject<Long> reconnectRequests = PublishSubject.create();
+    private final Observable<IncomingMessage> incomingMessages;
+
+    private SignalServiceMessagePipe messagePipe;
+
+    public MessagePipeSupervisor(@NonNull final SignalServiceMessageReceiver messageReceiver,
+                                 @NonNull final Scheduler pipeScheduler,
+                                 @NonNull final Func1<SignalServiceEnvelope, IncomingMessage> envelopeHandler) {
+        this.messageReceiver = messageReceiver;
+        this.pipeScheduler = pipeScheduler;
+        this.envelopeHandler = envelopeHandler;
+        this.metrics = new MessagePipeMetrics();
+        this.readTimeout = new ExponentialBackoff(MIN_READ_TIMEOUT_SECONDS, MAX_READ_TIMEOUT_SECONDS);
+        this.reconnectDelay = new ExponentialBackoff(MIN_RECONNECT_DELAY_MS, MAX_RECONNECT_DELAY_MS);
+        this.incomingMessages = Observable
+                .fromCallable(this::readAndHandle)
+                .subscribeOn(this.pipeScheduler)
+                .repeat()
+                .retryWhen(this::reconnectWithBackoff)
+                .filter(message -> message != null)
+                .doOnSubscribe(this::resetTimeouts)
+                .share();
+    }
+
+    // Emits handled messages until the last subscriber unsubscribes. Read errors cause a reconnect rather than an error.
+    public Observable<IncomingMessage> receiveMessages() {
+        return this.incomingMessages;
+    }
+
+    // The envelope is handled inside the read, so one taken off the pipe is never dropped by an unsubscribe.
+    @WorkerThread
+    private IncomingMessage readAndHandle() throws IOException {
+        final SignalServiceEnvelope envelope = readWithAdaptiveTimeout();
+        return envelope == null ? null : this.envelopeHandler.call(envelope);
+    }
+
+    @WorkerThread
+    private SignalServiceEnvelope readWithAdaptiveTimeout() throws IOException {
+        try {
+            final SignalServiceEnvelope envelope = read(this.readTimeout.peek());
+            this.readTimeout.reset();
+            return envelope;
+        } catch (final TimeoutException ex) {
+            // Nothing arrived; wait longer next time.
+            this.readTimeout.next();
+            return null;
+        }
+    }
+
+    @WorkerThread
+    private SignalServiceEnvelope read(final long timeoutInSeconds) throws TimeoutException, IOException {
+        final SignalServiceMessagePipe pipe = getOrCreatePipe();
+        try {
+            final SignalServiceEnvelope envelope = pipe.read(timeoutInSeconds, TimeUnit.SECONDS);
+            this.reconnectDelay.reset();
+            this.metrics.onMessageReceived();
+            return envelope;
+        } catch (final TimeoutException ex) {
+            this.reconnectDelay.reset();
+            throw ex;
+        } catch (final InvalidVersionException ex) {
+            LogUtil.w("Unsupported envelope version " + ex);
+            return null;
+        } catch (final IOException | IllegalStateException ex) {
+            closePipe(pipe);
+            throw new IOException(ex);
+        }
+    }
+
+    private synchronized SignalServiceMessagePipe getOrCreatePipe() {
+        if (this.messagePipe == null) {
+            this.messagePipe = this.messageReceiver.createMessagePipe();
+            this.metrics.onConnected();
+        }
+        return this.messagePipe;
+    }
+
+    private synchronized void closePipe(final SignalServiceMessagePipe pipe) {
+        // A read on a stale pipe must not close the pipe that replaced it.
+        if (pipe == null || pipe != this.messagePipe) return;
+        pipe.shutdown();
+        this.messagePipe = null;
+        this.metrics.onDisconnected();
+        LogUtil.i("Message pipe closed. " + this.metrics);
+    }
+
+    private Observable<?> reconnectWithBackoff(final Observable<? extends Throwable> errors) {
+        return errors.flatMap(throwable -> {
+            final long delay = this.reconnectDelay.next();
+            LogUtil.i("Message pipe error, reconnecting in " + delay + "ms. " + throwable);
+            return Observable.amb(
+                    Observable.timer(delay, TimeUnit.MILLISECONDS),
+                    networkRegained(),
+                    this.reconnectRequests
+            ).first();
+        });
+    }
+
+    private Observable<Long> networkRegained() {
+        return BaseApplication
+                .get()
+                .isConnectedSubject()
+                .skip(1)
+                .filter(isConnected -> isConnected)
+                .map(__ -> 0L);
+    }
+
+    public void resetTimeouts() {
+        this.readTimeout.reset();
+        this.reconnectDelay.reset();
+    }
+
+    // Starts with short timeouts again and cuts a pending reconnect delay short,
+    // e.g. when the app comes back to the foreground.
+    public void resume() {
+        resetTimeouts();
+        this.reconnectRequests.onNext(0L);
+    }
+
+    public MessagePipeMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    public synchronized void shutdown() {
+        closePipe(this.messagePipe);
+    }
+}
@@ -39,7 +39,6 @@ import org.whispersystems.libsignal.InvalidMessageException;
 import org.whispersystems.libsignal.InvalidVersionException;
 import org.whispersystems.libsignal.LegacyMessageException;
 import org.whispersystems.libsignal.NoSessionException;
-import org.whispersystems.signalservice.api.SignalServiceMessagePipe;
 import org.whispersystems.signalservice.api.SignalServiceMessageReceiver;
 import org.whispersystems.signalservice.api.crypto.SignalServiceCipher;
 import org.whispersystems.signalservice.api.messages.SignalServiceContent;
@@ -50,13 +49,10 @@ import org.whispersystems.signalservice.internal.configuration.SignalCdnUrl;
 import org.whispersystems.signalservice.internal.configuration.SignalServiceConfiguration;
 import org.whispersystems.signalservice.internal.configuration.SignalServiceUrl;
 
-import java.io.IOException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-import rx.Observable;
 import rx.Single;
 import rx.Subscription;
 import rx.schedulers.Schedulers;
@@ -72,9 +68,10 @@ public class SofaMessageReceiver {
     private final GroupUpdateTask taskGroupUpdate;
     private final HandleMessageTask taskHandleMessage;
 
-    private SignalServiceMessagePipe messagePipe;
-    private boolean isReceivingMessages;
+    private final MessagePipeSupervisor pipeSupervisor;
+    private final AtomicBoolean isReceivingMessages = new AtomicBoolean(false);
     private Subscription messagesSubscription;
+    // Reads the pipe and handles envelopes one at a time, in the order they were read
     private final ExecutorService messageReceiverThread = Executors.newSingleThreadExecutor();
 
     public SofaMessageReceiver(@NonNull final HDWallet wallet,
@@ -92,51 +89,58 @@ public class SofaMessageReceiver {
                         this.protocolStore.getSignalingKey(),
                         USER_AGENT);
 
+        this.pipeSupervisor = new MessagePipeSupervisor(
+                this.messageReceiver,
+                Schedulers.from(this.messageReceiverThread),
+                this::handleEnvelope
+        );
         this.taskGroupUpdate = new GroupUpdateTask(this.messageReceiver, messageSender, conversationStore);
         this.taskHandleMessage = new HandleMessageTask(this.messageReceiver, conversationStore, this.wallet, messageSender);
     }
 
     public void receiveMessagesAsync() {
-        if (this.isReceivingMessages) {
-            // Already running.
+        if (!this.isReceivingMessages.compareAndSet(false, true)) {
+            // Already running; reconnect now rather than after a pending backoff.
+            this.pipeSupervisor.resume();
             return;
         }
 
-        this.isReceivingMessages = true;
-
-        this.messagesSubscription = fetchLatestMessage()
-                .toObservable()
-                .onErrorResumeNext(this::returnNullIfTimeoutException)
-                .repeatWhen(completed -> completed)
+        this.messagesSubscription = this.pipeSupervisor
+                .receiveMessages()
                 .subscribe(
-                        ChatNotificationManager::showNotification,
-                        throwable -> LogUtil.exception("Error while receiving messages " + throwable)
+                        __ -> {},
+                        this::handleReceivingError
                 );
     }
 
-    private Observable returnNullIfTimeoutException(final Throwable throwable) {
-        if (throwable instanceof TimeoutException) return Observable.just(null); // TimeoutException is expected
-        else return Observable.error(throwable);
+    private void handleReceivingError(final Throwable throwable) {
+        LogUtil.exception("Error while receiving messages " + throwable);
+        this.isReceivingMessages.set(false);
     }
 
+    // Emits the next incoming message, which has already been handled and notified.
+    // Joins the running receive loop if there is one, so the pipe is never read twice.
     public Single<IncomingMessage> fetchLatestMessage() {
-        return Single.fromCallable(this::tryFetchLatestMessage)
-                .subscribeOn(Schedulers.from(messageReceiverThread));
+        return this.pipeSupervisor
+                .receiveMessages()
+                .first()
+                .toSingle();
     }
 
     @WorkerThread
-    private IncomingMessage tryFetchLatestMessage() throws TimeoutException {
-        if (this.messagePipe == null) {
-            this.messagePipe = messageReceiver.createMessagePipe();
-        }
+    private IncomingMessage handleEnvelope(final SignalServiceEnvelope envelope) {
+        final IncomingMessage incomingMessage = tryDecryptIncomingSignalServiceEnvelope(envelope);
+        ChatNotificationManager.showNotification(incomingMessage);
+        return incomingMessage;
+    }
 
+    @WorkerThread
+    private IncomingMessage tryDecryptIncomingSignalServiceEnvelope(final SignalServiceEnvelope envelope) {
+        if (envelope == null) return null;
         try {
-            final SignalServiceEnvelope envelope = messagePipe.read(INCOMING_MESSAGE_TIMEOUT, TimeUnit.SECONDS);
             return decryptIncomingSignalServiceEnvelope(envelope);
-        } catch (final TimeoutException ex) {
-            throw new TimeoutException(ex.getMessage());
-        } catch (final IllegalStateException | InvalidKeyException | InvalidKeyIdException | DuplicateMessageException | InvalidVersionException | LegacyMessageException | InvalidMessageException | NoSessionException | org.whispersystems.libsignal.UntrustedIdentityException | IOException e) {
-            LogUtil.exception("Error while fetching latest message " + e);
+        } catch (final IllegalStateException | InvalidKeyException | InvalidKeyIdException | DuplicateMessageException | InvalidVersionException | LegacyMessageException | InvalidMessageException | NoSessionException | org.whispersystems.libsignal.UntrustedIdentityException e) {
+            LogUtil.exception("Error while decrypting latest message " + e);
         }
         return null;
     }
@@ -180,11 +184,12 @@ public class SofaMessageReceiver {
     }
 
     public void shutdown() {
-        this.isReceivingMessages = false;
+        this.isReceivingMessages.set(false);
         if (this.messagesSubscription != null) this.messagesSubscription.unsubscribe();
-        if (this.messagePipe != null) {
-            this.messagePipe.shutdown();
-            this.messagePipe = null;
-        }
+        this.pipeSupervisor.shutdown();
+    }
+
+    public MessagePipeMetrics getPipeMetrics() {
+        return this.pipeSupervisor.getMetrics();
     }
 }
@@ -19,6 +19,7 @@ package com.toshi.manager.chat.tasks
 
 import com.toshi.crypto.signal.model.DecryptedSignalMessage
 import com.toshi.util.FileUtil
+import com.toshi.util.ThumbnailUtil
 import org.whispersystems.signalservice.api.SignalServiceMessageReceiver
 import org.whispersystems.signalservice.api.messages.SignalServiceAttachmentPointer
 
@@ -32,6 +33,7 @@ class ProcessAttachmentsTask(
         if (attachments.size > 0) {
             val attachment = attachments[0]
             val filePath = saveAttachmentToFile(attachment.asPointer())
+            ThumbnailUtil.createThumbnail(filePath)
             signalMessage.attachmentFilePath = filePath
         }
     }
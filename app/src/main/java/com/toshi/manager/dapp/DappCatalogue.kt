@@ -0,0 +1,227 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.dapp
+
+import com.squareup.moshi.Moshi
+import com.toshi.manager.network.DirectoryService
+import com.toshi.model.network.dapp.Dapp
+import com.toshi.model.network.dapp.DappSearchResult
+import com.toshi.model.network.dapp.DappSection
+import com.toshi.model.network.dapp.DappSections
+import com.toshi.util.logging.LogUtil
+import okio.BufferedSink
+import okio.Okio
+import rx.Completable
+import rx.Observable
+import rx.Single
+import rx.schedulers.Schedulers
+import java.io.File
+import java.io.IOException
+import java.util.concurrent.TimeUnit
+
+/**
+ * Local mirror of the dapp directory. The catalogue is read from disk on first use and
+ * synced in the background by paging through the directory, so search and browsing keep
+ * working offline and never wait on the network once a sync has completed. The last front
+ * page is kept next to it so the landing screen can be shown offline too.
+ */
+class DappCatalogue(private val directory: File) {
+
+    companion object {
+        private const val FILE_NAME = "dapps.json"
+        private const val FRONT_PAGE_FILE_NAME = "frontpage.json"
+        private const val PAGE_SIZE = 100
+        private val SYNC_INTERVAL = TimeUnit.HOURS.toMillis(6)
+    }
+
+    class Snapshot(
+            val dapps: List<Dapp> = emptyList(),
+            val categories: Map<Int, String> = emptyMap()
+    ) {
+        val index by lazy { DappSearchIndex(dapps, categories) }
+        fun isEmpty() = dapps.isEmpty()
+    }
+
+    // Moshi writes the stored catalogue reflectively, so categories are kept as a list
+    private data class StoredCatalogue(
+            val dapps: List<Dapp>,
+            val categories: List<StoredCategory>,
+            val syncedAt: Long
+    )
+
+    private data class StoredCategory(val id: Int, val name: String)
+
+    private data class StoredFrontPage(
+            val sections: List<DappSection>,
+            val categories: List<StoredCategory>
+    )
+
+    private val adapter by lazy { Moshi.Builder().build().adapter(StoredCatalogue::class.java) }
+    private val frontPageAdapter by lazy { Moshi.Builder().build().adapter(StoredFrontPage::class.java) }
+    @Volatile private var snapshot: Snapshot? = null
+    @Volatile private var syncedAt = 0L
+    private var isSyncing = false
+
+    fun getSnapshot(): Single<Snapshot> {
+        return Single.fromCallable { snapshot ?: loadSnapshot() }
+                .subscribeOn(Schedulers.io())
+    }
+
+    @Synchronized
+    private fun loadSnapshot(): Snapshot {
+        snapshot?.let { return it }
+        val loadedSnapshot = readSnapshot()
+        snapshot = loadedSnapshot
+        return loadedSnapshot
+    }
+
+    @Synchronized
+    fun syncIfNeeded() {
+        if (isSyncing) return
+        isSyncing = true
+        getSnapshot()
+                .flatMapCompletable { if (isSyncDue()) sync() else Completable.complete() }
+                .doAfterTerminate { finishSync() }
+                .subscribe(
+                        {},
+                        { LogUtil.w("Error while syncing dapps $it") }
+                )
+    }
+
+    private fun isSyncDue() = System.currentTimeMillis() - syncedAt !in 0..SYNC_INTERVAL
+
+    @Synchronized
+    private fun finishSync() {
+        isSyncing = false
+    }
+
+    private fun sync(): Completable {
+        return fetchAllPages()
+                .doOnSuccess { handleSyncedCatalogue(it) }
+                .toCompletable()
+    }
+
+    private fun fetchAllPages(): Single<Snapshot> {
+        val dapps = LinkedHashMap<Long, Dapp>()
+        val categories = mutableMapOf<Int, String>()
+        return fetchPages(0)
+                .doOnNext { page ->
+                    page.results.dapps.forEach { dapp -> dapp.dappId?.let { dapps[it] = dapp } }
+                    categories.putAll(page.results.categories)
+                }
+                .toCompletable()
+                .toSingle { Snapshot(dapps.values.toList(), categories) }
+    }
+
+    private fun fetchPages(offset: Int): Observable<DappSearchResult> {
+        return fetchPage(offset)
+                .concatMap { page ->
+                    val nextOffset = offset + page.results.dapps.size
+                    val isLastPage = page.results.dapps.isEmpty() || nextOffset >= page.total
+                    if (isLastPage) Observable.just(page)
+                    else Observable.just(page).concatWith(fetchPages(nextOffset))
+                }
+    }
+
+    private fun fetchPage(offset: Int): Observable<DappSearchResult> {
+        return DirectoryService
+                .get()
+                .getAllDappsWithOffset(offset, PAGE_SIZE)
+                .toObservable()
+    }
+
+    private fun handleSyncedCatalogue(syncedSnapshot: Snapshot) {
+        val currentSnapshot = snapshot
+        val hasChanged = currentSnapshot == null
+                || currentSnapshot.dapps != syncedSnapshot.dapps
+                || currentSnapshot.categories != syncedSnapshot.categories
+        // Keep the current snapshot if nothing changed, its index may already have been built
+        if (hasChanged) snapshot = syncedSnapshot
+        syncedAt = System.currentTimeMillis()
+        writeSnapshot(snapshot ?: syncedSnapshot)
+    }
+
+    private fun readSnapshot(): Snapshot {
+        val file = File(directory, FILE_NAME)
+        if (!file.exists()) return Snapshot()
+        return try {
+            val stored = Okio.buffer(Okio.source(file)).use { adapter.fromJson(it) } ?: return Snapshot()
+            syncedAt = stored.syncedAt
+            Snapshot(stored.dapps, stored.categories.associate { it.id to it.name })
+        } catch (e: IOException) {
+            LogUtil.exception("Unable to read dapp catalogue", e)
+            Snapshot()
+        } catch (e: RuntimeException) {
+            LogUtil.exception("Unable to parse dapp catalogue", e)
+            Snapshot()
+        }
+    }
+
+    private fun writeSnapshot(snapshot: Snapshot) {
+        val categories = snapshot.categories.map { StoredCategory(it.key, it.value) }
+        val stored = StoredCatalogue(snapshot.dapps, categories, syncedAt)
+        writeFile(FILE_NAME) { adapter.toJson(it, stored) }
+    }
+
+    // The last front page fetched, or null if there is none
+    fun getFrontPage(): Single<DappSections?> {
+        return Single.fromCallable { readFrontPage() }
+                .subscribeOn(Schedulers.io())
+    }
+
+    private fun readFrontPage(): DappSections? {
+        val file = File(directory, FRONT_PAGE_FILE_NAME)
+        if (!file.exists()) return null
+        return try {
+            val stored = Okio.buffer(Okio.source(file)).use { frontPageAdapter.fromJson(it) } ?: return null
+            DappSections(stored.sections, stored.categories.associate { it.id to it.name })
+        } catch (e: IOException) {
+            LogUtil.exception("Unable to read dapp front page", e)
+            null
+        } catch (e: RuntimeException) {
+            LogUtil.exception("Unable to parse dapp front page", e)
+            null
+        }
+    }
+
+    @Synchronized
+    fun storeFrontPage(sections: DappSections) {
+        val categories = sections.categories.map { StoredCategory(it.key, it.value) }
+        val stored = StoredFrontPage(sections.sections, categories)
+        writeFile(FRONT_PAGE_FILE_NAME) { frontPageAdapter.toJson(it, stored) }
+    }
+
+    // Writes to a temporary file first so a half written file is never read
+    private fun writeFile(fileName: String, write: (BufferedSink) -> Unit) {
+        if (!directory.exists() && !directory.mkdirs()) return
+        val tempFile = File(directory, "$fileName.tmp")
+        try {
+            Okio.buffer(Okio.sink(tempFile)).use { write(it) }
+            if (!tempFile.renameTo(File(directory, fileName))) LogUtil.w("Unable to store $fileName")
+        } catch (e: IOException) {
+            LogUtil.exception("Unable to store $fileName", e)
+        }
+    }
+
+    fun clear() {
+        snapshot = null
+        syncedAt = 0
+        File(directory, FILE_NAME).delete()
+        File(directory, FRONT_PAGE_FILE_NAME).delete()
+    }
+}
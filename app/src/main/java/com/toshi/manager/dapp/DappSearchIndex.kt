@@ -0,0 +1,118 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.dapp
+
+import com.toshi.model.network.dapp.Dapp
+import java.util.Locale
+
+/**
+ * In-memory search index over dapp names, descriptions and category names.
+ * Every word is stored once in a sorted array, so a prefix lookup is a binary
+ * search followed by a scan over the words that share the prefix.
+ */
+class DappSearchIndex(
+        private val dapps: List<Dapp>,
+        categories: Map<Int, String>
+) {
+
+    companion object {
+        private const val NAME_PREFIX_MATCH = 2
+        private const val NAME_WORD_MATCH = 1
+        private const val OTHER_MATCH = 0
+        private val WORD_SEPARATOR = Regex("[^\\p{L}\\p{N}]+")
+
+        fun tokenize(text: String?): List<String> {
+            if (text == null || text.isBlank()) return emptyList()
+            return text.toLowerCase(Locale.ROOT)
+                    .split(WORD_SEPARATOR)
+                    .filter { it.isNotEmpty() }
+        }
+    }
+
+    private val words: Array<String>
+    private val postings: Array<IntArray>
+    private val nameWords: Array<Set<String>>
+    private val lowerCaseNames: Array<String>
+
+    init {
+        val wordToDapps = sortedMapOf<String, MutableSet<Int>>()
+        nameWords = Array(dapps.size) { emptySet<String>() }
+        lowerCaseNames = Array(dapps.size) { "" }
+        dapps.forEachIndexed { index, dapp ->
+            val dappNameWords = tokenize(dapp.name).toSet()
+            nameWords[index] = dappNameWords
+            lowerCaseNames[index] = dapp.name?.toLowerCase(Locale.ROOT) ?: ""
+            val categoryWords = dapp.categories.flatMap { tokenize(categories[it]) }
+            val dappWords = dappNameWords + tokenize(dapp.description) + categoryWords
+            dappWords.forEach { wordToDapps.getOrPut(it) { mutableSetOf() }.add(index) }
+        }
+        words = wordToDapps.keys.toTypedArray()
+        postings = wordToDapps.values.map { it.toIntArray() }.toTypedArray()
+    }
+
+    val size get() = dapps.size
+
+    /**
+     * Returns the dapps where every word in the query is a prefix of a word in the dapp.
+     * Dapps whose name starts with the query come first, followed by dapps with a name
+     * word matching the query, and then by the remaining matches.
+     */
+    fun search(query: String): List<Dapp> {
+        val queryWords = tokenize(query)
+        if (queryWords.isEmpty()) return emptyList()
+
+        var matches: Set<Int>? = null
+        for (queryWord in queryWords) {
+            val wordMatches = findByPrefix(queryWord)
+            matches = matches?.intersect(wordMatches) ?: wordMatches
+            if (matches.isEmpty()) return emptyList()
+        }
+
+        val lowerCaseQuery = query.trim().toLowerCase(Locale.ROOT)
+        return matches.orEmpty()
+                .sortedWith(compareByDescending<Int> { score(it, lowerCaseQuery, queryWords) }.thenBy { lowerCaseNames[it] })
+                .map { dapps[it] }
+    }
+
+    private fun findByPrefix(prefix: String): Set<Int> {
+        val matches = mutableSetOf<Int>()
+        var position = lowerBound(prefix)
+        while (position < words.size && words[position].startsWith(prefix)) {
+            postings[position].forEach { matches.add(it) }
+            position++
+        }
+        return matches
+    }
+
+    private fun lowerBound(prefix: String): Int {
+        var low = 0
+        var high = words.size
+        while (low < high) {
+            val mid = (low + high) ushr 1
+            if (words[mid] < prefix) low = mid + 1 else high = mid
+        }
+        return low
+    }
+
+    private fun score(index: Int, lowerCaseQuery: String, queryWords: List<String>): Int {
+        if (lowerCaseNames[index].startsWith(lowerCaseQuery)) return NAME_PREFIX_MATCH
+        val names = nameWords[index]
+        val matchesName = queryWords.all { queryWord -> names.any { it.startsWith(queryWord) } }
+        return if (matchesName) NAME_WORD_MATCH else OTHER_MATCH
+    }
+}
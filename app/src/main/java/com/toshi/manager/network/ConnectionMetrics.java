@@ -0,0 +1,61 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.network;
+
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import okhttp3.Connection;
+
+// Counts how often network requests reuse a pooled connection instead of opening a new one.
+public class ConnectionMetrics {
+
+    private final Set<Connection> seenConnections = Collections.newSetFromMap(new WeakHashMap<>());
+    private long requestCount;
+    private long newConnectionCount;
+
+    // Returns true if the connection hasn't been used by an earlier request.
+    public synchronized boolean onRequest(final Connection connection) {
+        this.requestCount++;
+        if (connection == null || !this.seenConnections.add(connection)) return false;
+        this.newConnectionCount++;
+        return true;
+    }
+
+    public synchronized long getRequestCount() {
+        return this.requestCount;
+    }
+
+    public synchronized long getNewConnectionCount() {
+        return this.newConnectionCount;
+    }
+
+    public synchronized double getReuseRatio() {
+        if (this.requestCount == 0) return 0;
+        return (double) (this.requestCount - this.newConnectionCount) / this.requestCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "requests=" + this.requestCount
+                + ", newConnections=" + this.newConnectionCount
+                + ", reuseRatio=" + getReuseRatio();
+    }
+}
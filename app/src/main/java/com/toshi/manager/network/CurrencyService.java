@@ -19,7 +19,7 @@ package com.toshi.manager.network;
 
 
 import com.squareup.moshi.Moshi;
-import com.toshi.manager.network.interceptor.LoggingInterceptor;
+import com.toshi.manager.network.interceptor.NetworkLoggingInterceptor;
 import com.toshi.manager.network.interceptor.OfflineCacheInterceptor;
 import com.toshi.manager.network.interceptor.ReadFromCacheInterceptor;
 import com.toshi.manager.network.interceptor.AppInfoUserAgentInterceptor;
@@ -28,11 +28,7 @@ import com.toshi.model.adapter.BigIntegerAdapter;
 import com.toshi.R;
 import com.toshi.view.BaseApplication;
 
-import java.io.File;
-
-import okhttp3.Cache;
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.adapter.rxjava.RxJavaCallAdapterFactory;
 import retrofit2.converter.moshi.MoshiConverterFactory;
@@ -66,10 +62,9 @@ public class CurrencyService {
     private CurrencyService() {
         final RxJavaCallAdapterFactory rxAdapter = RxJavaCallAdapterFactory
                 .createWithScheduler(Schedulers.io());
-        final File cachePath = new File(BaseApplication.get().getCacheDir(), "ratesCache");
-        this.client = new OkHttpClient
-                .Builder()
-                .cache(new Cache(cachePath, 1024 * 1024))
+        this.client = HttpClientProvider
+                .newBuilder()
+                .cache(HttpClientProvider.getCache())
                 .addNetworkInterceptor(new ReadFromCacheInterceptor())
                 .addInterceptor(new OfflineCacheInterceptor());
 
@@ -95,7 +90,6 @@ public class CurrencyService {
     }
 
     private void addLogging() {
-        final HttpLoggingInterceptor interceptor = new HttpLoggingInterceptor(new LoggingInterceptor());
-        this.client.addInterceptor(interceptor);
+        this.client.addInterceptor(new NetworkLoggingInterceptor());
     }
 }
@@ -20,20 +20,17 @@ package com.toshi.manager.network
 import com.squareup.moshi.Moshi
 import com.toshi.R
 import com.toshi.manager.network.interceptor.AppInfoUserAgentInterceptor
-import com.toshi.manager.network.interceptor.LoggingInterceptor
+import com.toshi.manager.network.interceptor.NetworkLoggingInterceptor
 import com.toshi.manager.network.interceptor.OfflineCacheInterceptor
 import com.toshi.manager.network.interceptor.ReadFromCacheInterceptor
 import com.toshi.manager.network.interceptor.SigningInterceptor
 import com.toshi.model.adapter.RealmListAdapter
 import com.toshi.view.BaseApplication
-import okhttp3.Cache
 import okhttp3.OkHttpClient
-import okhttp3.logging.HttpLoggingInterceptor
 import retrofit2.Retrofit
 import retrofit2.adapter.rxjava.RxJavaCallAdapterFactory
 import retrofit2.converter.moshi.MoshiConverterFactory
 import rx.schedulers.Schedulers
-import java.io.File
 
 object DirectoryService {
 
@@ -43,10 +40,8 @@ object DirectoryService {
 
     private fun buildDirectoryInterface(): DirectoryInterface {
         val rxAdapter = RxJavaCallAdapterFactory.createWithScheduler(Schedulers.io())
-        val cachePath = File(BaseApplication.get().cacheDir, "dirCache")
-        val cache = Cache(cachePath, (1024 * 1024 * 2).toLong())
-        val client = OkHttpClient.Builder()
-                .cache(cache)
+        val client = HttpClientProvider.newBuilder()
+                .cache(HttpClientProvider.getCache())
                 .addNetworkInterceptor(ReadFromCacheInterceptor())
                 .addInterceptor(OfflineCacheInterceptor())
 
@@ -76,8 +71,6 @@ object DirectoryService {
     }
 
     private fun addLogging(client: OkHttpClient.Builder) {
-        val interceptor = HttpLoggingInterceptor(LoggingInterceptor())
-        interceptor.level = HttpLoggingInterceptor.Level.BODY
-        client.addInterceptor(interceptor)
+        client.addInterceptor(NetworkLoggingInterceptor())
     }
 }
\ No newline at end of file
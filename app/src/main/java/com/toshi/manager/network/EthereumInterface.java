@@ -30,8 +30,10 @@ import com.toshi.model.network.token.ERC20Tokens;
 import com.toshi.model.network.token.ERC721Tokens;
 import com.toshi.model.network.token.ERCToken;
 
+import retrofit2.Response;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
+import retrofit2.http.Header;
 import retrofit2.http.POST;
 import retrofit2.http.Path;
 import retrofit2.http.Query;
@@ -65,20 +67,28 @@ public interface EthereumInterface {
             @Body GcmDeregistration gcmDeregistration);
 
     @GET("/v1/tokens/{wallet_address}")
-    Single<ERC20Tokens> getTokens(@Path("wallet_address") String walletAddress);
+    Single<Response<ERC20Tokens>> getTokens(
+            @Path("wallet_address") String walletAddress,
+            @Header("If-None-Match") String etag
+    );
 
     @GET("/v1/tokens/{wallet_address}/{contract_address}")
-    Single<ERCToken> getToken(
+    Single<Response<ERCToken>> getToken(
             @Path("wallet_address") String walletAddress,
-            @Path("contract_address") String contractAddress
+            @Path("contract_address") String contractAddress,
+            @Header("If-None-Match") String etag
     );
 
     @GET("/v1/collectibles/{wallet_address}")
-    Single<ERC721Tokens> getCollectibles(@Path("wallet_address") String walletAddress);
+    Single<Response<ERC721Tokens>> getCollectibles(
+            @Path("wallet_address") String walletAddress,
+            @Header("If-None-Match") String etag
+    );
 
     @GET("/v1/collectibles/{wallet_address}/{contract_address}")
-    Single<ERC721TokenWrapper> getCollectible(
+    Single<Response<ERC721TokenWrapper>> getCollectible(
             @Path("wallet_address") String walletAddress,
-            @Path("contract_address") String contactAddress
+            @Path("contract_address") String contactAddress,
+            @Header("If-None-Match") String etag
     );
 }
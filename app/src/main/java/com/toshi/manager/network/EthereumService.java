@@ -19,7 +19,8 @@ package com.toshi.manager.network;
 
 
 import com.squareup.moshi.Moshi;
-import com.toshi.manager.network.interceptor.LoggingInterceptor;
+import com.toshi.manager.network.interceptor.NetworkLoggingInterceptor;
+import com.toshi.manager.network.interceptor.ServerClockInterceptor;
 import com.toshi.manager.network.interceptor.SigningInterceptor;
 import com.toshi.manager.network.interceptor.AppInfoUserAgentInterceptor;
 import com.toshi.model.adapter.BigIntegerAdapter;
@@ -32,7 +33,6 @@ import com.toshi.model.sofa.SofaMessage;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
-import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.adapter.rxjava.RxJavaCallAdapterFactory;
 import retrofit2.converter.moshi.MoshiConverterFactory;
@@ -43,6 +43,7 @@ public class EthereumService {
 
     private static EthereumService instance;
     private final OkHttpClient.Builder client;
+    private final ServerClock serverClock;
     private EthereumInterface ethereumInterface;
     private String baseUrl;
 
@@ -54,6 +55,10 @@ public class EthereumService {
         return getInstance();
     }
 
+    public static ServerClock getServerClock() {
+        return getInstance().serverClock;
+    }
+
     private static synchronized EthereumService getInstance() {
         if (instance == null) {
             instance = new EthereumService();
@@ -62,7 +67,10 @@ public class EthereumService {
     }
 
     private EthereumService() {
-        this.client = new OkHttpClient.Builder();
+        this.serverClock = new ServerClock(() -> getApi().getTimestamp());
+        this.client = HttpClientProvider
+                .newBuilder()
+                .addNetworkInterceptor(new ServerClockInterceptor(this.serverClock));
 
         addUserAgentHeader();
         addSigningInterceptor();
@@ -80,6 +88,7 @@ public class EthereumService {
     public void changeBaseUrl(final String baseUrl) {
         this.baseUrl = baseUrl;
         this.ethereumInterface = buildEthereumInterface(this.baseUrl);
+        this.serverClock.reset();
     }
 
     private EthereumInterface buildEthereumInterface(final String baseUrl) {
@@ -108,9 +117,7 @@ public class EthereumService {
     }
 
     private void addLogging() {
-        final HttpLoggingInterceptor interceptor = new HttpLoggingInterceptor(new LoggingInterceptor());
-        interceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-        this.client.addInterceptor(interceptor);
+        this.client.addInterceptor(new NetworkLoggingInterceptor());
     }
 
     public Single<Payment> getStatusOfTransaction(final String transactionHash) {
@@ -126,7 +133,8 @@ public class EthereumService {
                     .url(url)
                     .build();
 
-            final Response response = new OkHttpClient()
+            final Response response = HttpClientProvider
+                    .getBaseClient()
                     .newCall(request)
                     .execute();
 
@@ -0,0 +1,89 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.network;
+
+
+import com.toshi.manager.network.interceptor.ConnectionMetricsInterceptor;
+import com.toshi.util.FileUtil;
+import com.toshi.view.BaseApplication;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import rx.Completable;
+import rx.schedulers.Schedulers;
+
+// Owns the OkHttpClient that every service derives its own client from via newBuilder(),
+// so connections, TLS sessions and dispatcher threads are shared across all services.
+public class HttpClientProvider {
+
+    private static final int MAX_IDLE_CONNECTIONS = 5;
+    private static final long KEEP_ALIVE_DURATION_MINUTES = 5;
+    private static final long CACHE_SIZE = 1024 * 1024 * 6;
+    private static final String CACHE_DIRECTORY = "httpCache";
+    private static final String[] LEGACY_CACHE_DIRECTORIES = { "idCache", "dirCache", "ratesCache", "repCache" };
+
+    private static final ConnectionMetrics connectionMetrics = new ConnectionMetrics();
+    private static OkHttpClient baseClient;
+    private static Cache cache;
+
+    public static synchronized OkHttpClient getBaseClient() {
+        if (baseClient == null) {
+            baseClient = new OkHttpClient
+                    .Builder()
+                    .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_DURATION_MINUTES, TimeUnit.MINUTES))
+                    .dispatcher(new Dispatcher())
+                    .addNetworkInterceptor(new ConnectionMetricsInterceptor(connectionMetrics))
+                    .build();
+        }
+        return baseClient;
+    }
+
+    public static OkHttpClient.Builder newBuilder() {
+        return getBaseClient().newBuilder();
+    }
+
+    // The HTTP cache shared by every service that caches responses.
+    public static synchronized Cache getCache() {
+        if (cache == null) {
+            final File cacheDir = BaseApplication.get().getCacheDir();
+            cache = new Cache(new File(cacheDir, CACHE_DIRECTORY), CACHE_SIZE);
+            deleteLegacyCaches(cacheDir);
+        }
+        return cache;
+    }
+
+    private static void deleteLegacyCaches(final File cacheDir) {
+        Completable.fromAction(() -> {
+            for (final String directory : LEGACY_CACHE_DIRECTORIES) {
+                FileUtil.deleteRecursively(new File(cacheDir, directory));
+            }
+        })
+        .subscribeOn(Schedulers.io())
+        .onErrorComplete()
+        .subscribe();
+    }
+
+    public static ConnectionMetrics getConnectionMetrics() {
+        return connectionMetrics;
+    }
+}
@@ -19,21 +19,20 @@ package com.toshi.manager.network;
 
 
 import com.squareup.moshi.Moshi;
-import com.toshi.manager.network.interceptor.LoggingInterceptor;
+import com.toshi.manager.network.interceptor.NetworkLoggingInterceptor;
 import com.toshi.manager.network.interceptor.OfflineCacheInterceptor;
 import com.toshi.manager.network.interceptor.ReadFromCacheInterceptor;
+import com.toshi.manager.network.interceptor.ServerClockInterceptor;
 import com.toshi.manager.network.interceptor.SigningInterceptor;
 import com.toshi.manager.network.interceptor.AppInfoUserAgentInterceptor;
 import com.toshi.model.adapter.RealmListAdapter;
 import com.toshi.R;
 import com.toshi.view.BaseApplication;
 
-import java.io.File;
 import java.io.IOException;
 
 import okhttp3.Cache;
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.adapter.rxjava.RxJavaCallAdapterFactory;
 import retrofit2.converter.moshi.MoshiConverterFactory;
@@ -46,11 +45,16 @@ public class IdService {
     private final IdInterface idInterface;
     private final OkHttpClient.Builder client;
     private final Cache cache;
+    private final ServerClock serverClock;
 
     public static IdInterface getApi() {
         return get().idInterface;
     }
 
+    public static ServerClock getServerClock() {
+        return get().serverClock;
+    }
+
     public static IdService get() {
         if (instance == null) {
             instance = getSync();
@@ -67,12 +71,13 @@ public class IdService {
 
     private IdService() {
         final RxJavaCallAdapterFactory rxAdapter = RxJavaCallAdapterFactory.createWithScheduler(Schedulers.io());
-        final File cachePath = new File(BaseApplication.get().getCacheDir(), "idCache");
-        this.cache = new Cache(cachePath, 1024 * 1024 * 2);
-        this.client = new OkHttpClient
-                .Builder()
+        this.cache = HttpClientProvider.getCache();
+        this.serverClock = new ServerClock(() -> getApi().getTimestamp());
+        this.client = HttpClientProvider
+                .newBuilder()
                 .cache(this.cache)
                 .addNetworkInterceptor(new ReadFromCacheInterceptor())
+                .addNetworkInterceptor(new ServerClockInterceptor(this.serverClock))
                 .addInterceptor(new OfflineCacheInterceptor());
 
         addUserAgentHeader();
@@ -101,9 +106,7 @@ public class IdService {
     }
 
     private void addLogging() {
-        final HttpLoggingInterceptor interceptor = new HttpLoggingInterceptor(new LoggingInterceptor());
-        interceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-        this.client.addInterceptor(interceptor);
+        this.client.addInterceptor(new NetworkLoggingInterceptor());
     }
 
     public void clearCache() throws IOException {
@@ -18,7 +18,7 @@
 package com.toshi.manager.network;
 
 import com.squareup.moshi.Moshi;
-import com.toshi.manager.network.interceptor.LoggingInterceptor;
+import com.toshi.manager.network.interceptor.NetworkLoggingInterceptor;
 import com.toshi.manager.network.interceptor.OfflineCacheInterceptor;
 import com.toshi.manager.network.interceptor.ReadFromCacheInterceptor;
 import com.toshi.manager.network.interceptor.SigningInterceptor;
@@ -26,11 +26,7 @@ import com.toshi.manager.network.interceptor.AppInfoUserAgentInterceptor;
 import com.toshi.R;
 import com.toshi.view.BaseApplication;
 
-import java.io.File;
-
-import okhttp3.Cache;
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.adapter.rxjava.RxJavaCallAdapterFactory;
 import retrofit2.converter.moshi.MoshiConverterFactory;
@@ -63,10 +59,9 @@ public class ReputationService {
     private ReputationService() {
         final RxJavaCallAdapterFactory rxAdapter = RxJavaCallAdapterFactory
                 .createWithScheduler(Schedulers.io());
-        final File cachePath = new File(BaseApplication.get().getCacheDir(), "repCache");
-        this.client = new OkHttpClient
-                .Builder()
-                .cache(new Cache(cachePath, 1024 * 1024))
+        this.client = HttpClientProvider
+                .newBuilder()
+                .cache(HttpClientProvider.getCache())
                 .addNetworkInterceptor(new ReadFromCacheInterceptor())
                 .addInterceptor(new OfflineCacheInterceptor());
 
@@ -96,8 +91,6 @@ public class ReputationService {
     }
 
     private void addLogging() {
-        final HttpLoggingInterceptor interceptor = new HttpLoggingInterceptor(new LoggingInterceptor());
-        interceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-        this.client.addInterceptor(interceptor);
+        this.client.addInterceptor(new NetworkLoggingInterceptor());
     }
 }
@@ -0,0 +1,133 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.network;
+
+
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+
+import com.toshi.model.network.ServerTime;
+import com.toshi.util.logging.LogUtil;
+
+import rx.Single;
+import rx.functions.Func0;
+import rx.schedulers.Schedulers;
+
+// Tracks the offset between the local clock and a server clock so signed requests
+// can be timestamped locally instead of fetching /v1/timestamp before every call.
+// The offset is learnt from one timestamp call, kept up to date from the Date header
+// of later responses, and refreshed in the background when it gets old.
+// Offsets are relative to SystemClock.elapsedRealtime so changes to the wall clock don't affect them.
+// The clock can be swapped out in tests, but must keep the same base as the times passed to learnFromDateHeader.
+public class ServerClock {
+
+    private static final long REFRESH_INTERVAL_MS = 1000 * 60 * 10;
+    private static final long MAX_OFFSET_AGE_MS = 1000 * 60 * 60;
+    private static final long DATE_HEADER_TOLERANCE_MS = 2000;
+    // Server timestamps are truncated to whole seconds.
+    private static final long HALF_SECOND_MS = 500;
+
+    private final Func0<Single<ServerTime>> timestampSource;
+    private final Func0<Long> clock;
+
+    private long offset;
+    private long offsetUpdatedAt;
+    private boolean hasOffset;
+    private boolean isRefreshing;
+
+    public ServerClock(@NonNull final Func0<Single<ServerTime>> timestampSource) {
+        this(timestampSource, SystemClock::elapsedRealtime);
+    }
+
+    public ServerClock(@NonNull final Func0<Single<ServerTime>> timestampSource,
+                       @NonNull final Func0<Long> clock) {
+        this.timestampSource = timestampSource;
+        this.clock = clock;
+    }
+
+    public Single<ServerTime> getTimestamp() {
+        synchronized (this) {
+            final long age = this.clock.call() - this.offsetUpdatedAt;
+            if (this.hasOffset && age < MAX_OFFSET_AGE_MS) {
+                if (age > REFRESH_INTERVAL_MS) refreshInBackground();
+                return Single.just(new ServerTime(currentServerTimeMillis() / 1000));
+            }
+        }
+        return fetchTimestamp();
+    }
+
+    private long currentServerTimeMillis() {
+        return this.clock.call() + this.offset;
+    }
+
+    private Single<ServerTime> fetchTimestamp() {
+        return Single.defer(() -> {
+            final long requestedAt = this.clock.call();
+            return this.timestampSource
+                    .call()
+                    .doOnSuccess(serverTime -> learnFromServerTime(serverTime, requestedAt));
+        });
+    }
+
+    private void refreshInBackground() {
+        if (this.isRefreshing) return;
+        this.isRefreshing = true;
+        fetchTimestamp()
+                .subscribeOn(Schedulers.io())
+                .doAfterTerminate(this::handleRefreshFinished)
+                .subscribe(
+                        __ -> {},
+                        throwable -> LogUtil.w("Error while refreshing server time " + throwable)
+                );
+    }
+
+    private synchronized void handleRefreshFinished() {
+        this.isRefreshing = false;
+    }
+
+    private void learnFromServerTime(final ServerTime serverTime, final long requestedAt) {
+        if (serverTime == null) return;
+        final long receivedAt = this.clock.call();
+        final long serverTimeMillis = serverTime.get() * 1000 + HALF_SECOND_MS;
+        setOffset(serverTimeMillis - (requestedAt + receivedAt) / 2);
+    }
+
+    // Called with the Date header of a network response. The header only has a
+    // resolution of one second, so it replaces the offset only when it disagrees by more than that.
+    public void learnFromDateHeader(final long dateMillis, final long requestedAt, final long receivedAt) {
+        final long observedOffset = dateMillis + HALF_SECOND_MS - (requestedAt + receivedAt) / 2;
+        synchronized (this) {
+            if (this.hasOffset && Math.abs(observedOffset - this.offset) <= DATE_HEADER_TOLERANCE_MS) {
+                this.offsetUpdatedAt = this.clock.call();
+                return;
+            }
+        }
+        setOffset(observedOffset);
+    }
+
+    private synchronized void setOffset(final long offset) {
+        this.offset = offset;
+        this.offsetUpdatedAt = this.clock.call();
+        this.hasOffset = true;
+    }
+
+    public synchronized void reset() {
+        this.hasOffset = false;
+        this.offsetUpdatedAt = 0;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.network.image;
+
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.SystemClock;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import com.toshi.util.FileNames;
+import com.toshi.view.BaseApplication;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.CacheControl;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.ByteString;
+import rx.Single;
+import rx.schedulers.Schedulers;
+
+// Keeps track of which version of each avatar url is cached. Decoded bitmaps are cached by
+// Glide, keyed by url, version and size bucket, in memory and on disk. The version is the
+// ETag (or Last-Modified, or content hash) of the image, and is revalidated with a
+// conditional request at most every REVALIDATE_AFTER per url.
+public class AvatarCache {
+
+    private static final long REVALIDATE_AFTER = TimeUnit.MINUTES.toMillis(10);
+    private static final int[] SIZE_BUCKETS = {64, 128, 256, 512};
+    private static final String INITIAL_VERSION = "";
+
+    private static final Map<String, String> versions = new ConcurrentHashMap<>();
+    private static final Map<String, Long> validatedAt = new ConcurrentHashMap<>();
+    private static final Set<String> inFlightRevalidations = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private static final Map<ImageView, String> boundUrls = new WeakHashMap<>();
+
+    public static String getVersion(final String url) {
+        final String version = versions.get(url);
+        if (version != null) return version;
+
+        final String persistedVersion = getPrefs().getString(url, INITIAL_VERSION);
+        versions.put(url, persistedVersion);
+        return persistedVersion;
+    }
+
+    // Returns the smallest bucket that fits the view, or 0 if the view hasn't got a size yet
+    public static int getSizeBucket(final ImageView imageView) {
+        final ViewGroup.LayoutParams params = imageView.getLayoutParams();
+        int size = params != null ? Math.max(params.width, params.height) : 0;
+        if (size <= 0) size = Math.max(imageView.getWidth(), imageView.getHeight());
+        return getSizeBucket(size);
+    }
+
+    public static int getSizeBucket(final int size) {
+        if (size <= 0) return 0;
+        for (final int bucket : SIZE_BUCKETS) {
+            if (size <= bucket) return bucket;
+        }
+        return SIZE_BUCKETS[SIZE_BUCKETS.length - 1];
+    }
+
+    public static void bind(final ImageView imageView, final String url) {
+        synchronized (boundUrls) {
+            boundUrls.put(imageView, url);
+        }
+    }
+
+    public static List<ImageView> getViewsBoundTo(final String url) {
+        final List<ImageView> views = new ArrayList<>();
+        synchronized (boundUrls) {
+            for (final Map.Entry<ImageView, String> entry : boundUrls.entrySet()) {
+                if (url.equals(entry.getValue())) views.add(entry.getKey());
+            }
+        }
+        return views;
+    }
+
+    // Emits true if the avatar has changed since it was cached
+    public static Single<Boolean> revalidateIfStale(final String url) {
+        final Long lastValidation = validatedAt.get(url);
+        final boolean isFresh = lastValidation != null
+                && SystemClock.elapsedRealtime() - lastValidation < REVALIDATE_AFTER;
+        if (isFresh || !inFlightRevalidations.add(url)) return Single.just(false);
+
+        return revalidate(url)
+                .doAfterTerminate(() -> inFlightRevalidations.remove(url));
+    }
+
+    public static Single<Boolean> revalidate(final String url) {
+        return Single
+                .fromCallable(() -> fetchVersion(url))
+                .subscribeOn(Schedulers.io())
+                .map(version -> updateVersion(url, version));
+    }
+
+    private static String fetchVersion(final String url) throws IOException {
+        // max-age=0 makes OkHttp send If-None-Match/If-Modified-Since for a cached image
+        final Request request = new Request.Builder()
+                .url(url)
+                .cacheControl(new CacheControl.Builder().maxAge(0, TimeUnit.SECONDS).build())
+                .build();
+
+        try (final Response response = GlideOkHttpStack.getClient().newCall(request).execute()) {
+            if (!response.isSuccessful() || response.body() == null) {
+                throw new IOException("Unable to revalidate avatar, response code " + response.code());
+            }
+            // Reading the body lets OkHttp store a changed image in its cache
+            final ByteString body = response.body().source().readByteString();
+            final String etag = response.header("ETag");
+            if (etag != null) return etag;
+            final String lastModified = response.header("Last-Modified");
+            if (lastModified != null) return lastModified;
+            return body.md5().hex();
+        }
+    }
+
+    private static boolean updateVersion(final String url, final String version) {
+        validatedAt.put(url, SystemClock.elapsedRealtime());
+        final String previousVersion = getVersion(url);
+        if (previousVersion.equals(version)) return false;
+
+        versions.put(url, version);
+        getPrefs()
+                .edit()
+                .putString(url, version)
+                .apply();
+        return true;
+    }
+
+    public static void clear() {
+        versions.clear();
+        validatedAt.clear();
+        synchronized (boundUrls) {
+            boundUrls.clear();
+        }
+        getPrefs()
+                .edit()
+                .clear()
+                .apply();
+    }
+
+    private static SharedPreferences getPrefs() {
+        return BaseApplication.get().getSharedPreferences(FileNames.AVATAR_PREFS, Context.MODE_PRIVATE);
+    }
+}
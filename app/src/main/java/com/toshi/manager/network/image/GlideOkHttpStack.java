@@ -24,7 +24,8 @@ import com.bumptech.glide.GlideBuilder;
 import com.bumptech.glide.integration.okhttp3.OkHttpUrlLoader;
 import com.bumptech.glide.load.model.ModelLoaderFactory;
 import com.bumptech.glide.module.GlideModule;
-import com.toshi.manager.network.interceptor.LoggingInterceptor;
+import com.toshi.manager.network.HttpClientProvider;
+import com.toshi.manager.network.interceptor.NetworkLoggingInterceptor;
 import com.toshi.manager.network.interceptor.AppInfoUserAgentInterceptor;
 import com.toshi.view.BaseApplication;
 
@@ -33,30 +34,37 @@ import java.io.InputStream;
 
 import okhttp3.Cache;
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
 
 public class GlideOkHttpStack implements GlideModule {
 
     private static final int MAX_SIZE = 1024 * 1024 * 10;
 
-    @Override
-    public void applyOptions(Context context, GlideBuilder builder) {}
+    private static OkHttpClient client;
 
-    @Override
-    public void registerComponents(Context context, Glide glide) {
+    // Shared with AvatarCache so that revalidation and rendering use the same HTTP cache
+    public static synchronized OkHttpClient getClient() {
+        if (client == null) client = buildClient();
+        return client;
+    }
+
+    private static OkHttpClient buildClient() {
         final File cacheDir = new File(BaseApplication.get().getCacheDir(), "ToshiImageCache");
         final Cache cache = new Cache(cacheDir, MAX_SIZE);
 
-        final OkHttpClient client =
-                new OkHttpClient().newBuilder()
+        return HttpClientProvider.newBuilder()
                 .cache(cache)
                 .addInterceptor(new AppInfoUserAgentInterceptor())
-                .addInterceptor(new HttpLoggingInterceptor(new LoggingInterceptor()).setLevel(HttpLoggingInterceptor.Level.BODY))
+                .addInterceptor(new NetworkLoggingInterceptor())
                 .build();
+    }
 
+    @Override
+    public void applyOptions(Context context, GlideBuilder builder) {}
 
+    @Override
+    public void registerComponents(Context context, Glide glide) {
+        final OkHttpClient client = getClient();
         glide.register(CachedGlideUrl.class, InputStream.class, superFactory(new OkHttpUrlLoader.Factory(client), CachedGlideUrl.class));
-        glide.register(ForceLoadGlideUrl.class, InputStream.class, superFactory(new OkHttpUrlLoader.Factory(client), ForceLoadGlideUrl.class));
     }
 
     /**
@@ -0,0 +1,57 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.network.interceptor;
+
+
+import android.support.annotation.Nullable;
+
+import java.io.IOException;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+
+// A request body that replays already serialised bytes, so it can be sent (and retried)
+// without serialising the original body again.
+public class BufferedRequestBody extends RequestBody {
+
+    private final MediaType contentType;
+    private final Buffer buffer;
+
+    public BufferedRequestBody(@Nullable final MediaType contentType, final Buffer buffer) {
+        this.contentType = contentType;
+        this.buffer = buffer;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return this.contentType;
+    }
+
+    @Override
+    public long contentLength() {
+        return this.buffer.size();
+    }
+
+    @Override
+    public void writeTo(final BufferedSink sink) throws IOException {
+        // clone() shares the underlying segments rather than copying them
+        sink.write(this.buffer.clone(), this.buffer.size());
+    }
+}
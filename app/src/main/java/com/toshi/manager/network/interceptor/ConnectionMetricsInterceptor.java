@@ -0,0 +1,43 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.network.interceptor;
+
+
+import com.toshi.manager.network.ConnectionMetrics;
+import com.toshi.util.logging.LogUtil;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+public class ConnectionMetricsInterceptor implements Interceptor {
+
+    private final ConnectionMetrics metrics;
+
+    public ConnectionMetricsInterceptor(final ConnectionMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final boolean isNewConnection = this.metrics.onRequest(chain.connection());
+        if (isNewConnection) LogUtil.d("Opened connection to " + chain.request().url().host() + ". " + this.metrics);
+        return chain.proceed(chain.request());
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.network.interceptor;
+
+
+import com.toshi.crypto.cryptohash.Keccak256;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import okio.Buffer;
+import okio.ForwardingSink;
+import okio.Sink;
+
+// A sink that hashes everything written to it with Keccak-256 before passing it on.
+public class KeccakSink extends ForwardingSink {
+
+    private final Keccak256 digest;
+    private final OutputStream digestStream;
+
+    public KeccakSink(final Sink delegate) {
+        super(delegate);
+        this.digest = new Keccak256();
+        this.digestStream = new OutputStream() {
+            @Override
+            public void write(final int b) {
+                digest.update((byte) b);
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) {
+                digest.update(b, off, len);
+            }
+        };
+    }
+
+    @Override
+    public void write(final Buffer source, final long byteCount) throws IOException {
+        // copyTo hands the buffer's segments to the digest without copying them
+        source.copyTo(this.digestStream, 0, byteCount);
+        super.write(source, byteCount);
+    }
+
+    public byte[] digest() {
+        return this.digest.digest();
+    }
+}
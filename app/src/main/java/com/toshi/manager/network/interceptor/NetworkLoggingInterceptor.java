@@ -0,0 +1,133 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.network.interceptor;
+
+
+import com.toshi.util.logging.LogUtil;
+import com.toshi.util.logging.NetworkLogging;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+
+// Logs requests and responses according to NetworkLogging.getLevel(). When logging is off
+// the request is passed straight on, so nothing is buffered or formatted.
+public class NetworkLoggingInterceptor implements Interceptor {
+
+    private static final long MAX_BODY_SIZE = 1024 * 4;
+    private static final String REDACTED = "<redacted>";
+    private static final List<String> REDACTED_HEADERS = Arrays.asList("Toshi-Signature", "Authorization", "Cookie", "Set-Cookie");
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final @NetworkLogging.Level int level = NetworkLogging.getLevel();
+        if (level == NetworkLogging.OFF) return chain.proceed(chain.request());
+
+        final Request request = chain.request();
+        final boolean logBody = level == NetworkLogging.BODY;
+        logRequest(request, logBody);
+
+        final long startTime = System.nanoTime();
+        final Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (final IOException ex) {
+            LogUtil.print("<-- HTTP FAILED: " + ex);
+            throw ex;
+        }
+        final long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        logResponse(response, duration, logBody);
+        return response;
+    }
+
+    private void logRequest(final Request request, final boolean logBody) throws IOException {
+        final StringBuilder builder = new StringBuilder()
+                .append("--> ").append(request.method()).append(' ').append(request.url());
+        appendHeaders(builder, request.headers());
+
+        final RequestBody body = request.body();
+        if (logBody && body != null) {
+            final long contentLength = body.contentLength();
+            if (isPlainText(body.contentType()) && contentLength >= 0 && contentLength <= MAX_BODY_SIZE) {
+                final Buffer buffer = new Buffer();
+                body.writeTo(buffer);
+                builder.append('\n').append(buffer.readString(UTF8));
+            } else {
+                builder.append("\n(").append(contentLength).append("-byte body omitted)");
+            }
+        }
+        LogUtil.print(builder.toString());
+    }
+
+    private void logResponse(final Response response, final long duration, final boolean logBody) throws IOException {
+        final StringBuilder builder = new StringBuilder()
+                .append("<-- ").append(response.code()).append(' ').append(response.message())
+                .append(' ').append(response.request().url())
+                .append(" (").append(duration).append("ms)");
+        appendHeaders(builder, response.headers());
+
+        final ResponseBody body = response.body();
+        if (logBody && body != null) {
+            if (isPlainText(body.contentType())) {
+                // peekBody only buffers up to the size cap and leaves the body unconsumed
+                final ResponseBody peekedBody = response.peekBody(MAX_BODY_SIZE);
+                builder.append('\n').append(peekedBody.string());
+                if (body.contentLength() > MAX_BODY_SIZE) builder.append("\n(truncated)");
+            } else {
+                builder.append("\n(binary body omitted)");
+            }
+        }
+        LogUtil.print(builder.toString());
+    }
+
+    private void appendHeaders(final StringBuilder builder, final Headers headers) {
+        for (int i = 0; i < headers.size(); i++) {
+            final String name = headers.name(i);
+            final String value = isRedacted(name) ? REDACTED : headers.value(i);
+            builder.append('\n').append(name).append(": ").append(value);
+        }
+    }
+
+    private boolean isRedacted(final String headerName) {
+        for (final String redactedHeader : REDACTED_HEADERS) {
+            if (redactedHeader.equalsIgnoreCase(headerName)) return true;
+        }
+        return false;
+    }
+
+    private boolean isPlainText(final MediaType contentType) {
+        if (contentType == null) return false;
+        final String subtype = contentType.subtype();
+        return contentType.type().equals("text")
+                || subtype.contains("json")
+                || subtype.contains("xml")
+                || subtype.equals("x-www-form-urlencoded");
+    }
+}
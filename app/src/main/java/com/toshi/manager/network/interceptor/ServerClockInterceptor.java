@@ -0,0 +1,53 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.network.interceptor;
+
+
+import android.os.SystemClock;
+
+import com.toshi.manager.network.ServerClock;
+
+import java.io.IOException;
+import java.util.Date;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+// Network interceptor that keeps a ServerClock in sync using the Date header of responses.
+public class ServerClockInterceptor implements Interceptor {
+
+    private static final String DATE_HEADER = "Date";
+
+    private final ServerClock serverClock;
+
+    public ServerClockInterceptor(final ServerClock serverClock) {
+        this.serverClock = serverClock;
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final long requestedAt = SystemClock.elapsedRealtime();
+        final Response response = chain.proceed(chain.request());
+        final long receivedAt = SystemClock.elapsedRealtime();
+
+        final Date date = response.headers().getDate(DATE_HEADER);
+        if (date != null) this.serverClock.learnFromDateHeader(date.getTime(), requestedAt, receivedAt);
+
+        return response;
+    }
+}
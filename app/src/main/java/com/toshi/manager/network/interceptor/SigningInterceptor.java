@@ -21,7 +21,8 @@ package com.toshi.manager.network.interceptor;
 import android.util.Base64;
 
 import com.toshi.crypto.HDWallet;
-import com.toshi.crypto.util.HashUtil;
+import com.toshi.manager.ToshiManager;
+import com.toshi.util.logging.LogUtil;
 import com.toshi.view.BaseApplication;
 
 import java.io.IOException;
@@ -29,11 +30,19 @@ import java.io.IOException;
 import okhttp3.HttpUrl;
 import okhttp3.Interceptor;
 import okhttp3.Request;
+import okhttp3.RequestBody;
 import okhttp3.Response;
 import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
+import rx.Subscription;
 
 public class SigningInterceptor implements Interceptor {
 
+    // Shared by all instances so the wallet is only resolved once
+    private static volatile HDWallet currentWallet;
+    private static Subscription walletSubscription;
+
     private final String TIMESTAMP_QUERY_PARAMETER = "timestamp";
     private final String ADDRESS_HEADER = "Toshi-ID-Address";
     private final String SIGNATURE_HEADER = "Toshi-Signature";
@@ -54,15 +63,19 @@ public class SigningInterceptor implements Interceptor {
             return chain.proceed(original);
         }
 
-        final Buffer buffer = new Buffer();
         final String method = original.method();
         final String path = original.url().encodedPath();
         String encodedBody = "";
-        if (original.body() != null) {
-            original.body().writeTo(buffer);
-            final byte[] body = buffer.readByteArray();
-            final byte[] hashedBody = HashUtil.sha3(body);
-            encodedBody = Base64.encodeToString(hashedBody, Base64.NO_WRAP);
+        RequestBody body = original.body();
+        if (body != null) {
+            // Serialise the body once, hashing it on the way, and send the serialised bytes
+            final Buffer buffer = new Buffer();
+            final KeccakSink keccakSink = new KeccakSink(buffer);
+            final BufferedSink sink = Okio.buffer(keccakSink);
+            body.writeTo(sink);
+            sink.flush();
+            encodedBody = Base64.encodeToString(keccakSink.digest(), Base64.NO_WRAP);
+            body = new BufferedRequestBody(body.contentType(), buffer);
         }
 
         final String forSigning = method + "\n" + path + "\n" + timestamp + "\n" + encodedBody;
@@ -75,7 +88,7 @@ public class SigningInterceptor implements Interceptor {
 
         final Request request = original.newBuilder()
                 .removeHeader(TIMESTAMP_QUERY_PARAMETER)
-                .method(original.method(), original.body())
+                .method(original.method(), body)
                 .addHeader(TIMESTAMP_HEADER, timestamp)
                 .addHeader(SIGNATURE_HEADER, signature)
                 .addHeader(ADDRESS_HEADER, wallet.getOwnerAddress())
@@ -86,12 +99,26 @@ public class SigningInterceptor implements Interceptor {
     }
 
     public HDWallet getWallet() {
-            return BaseApplication
-                    .get()
-                    .getToshiManager()
-                    .getWallet()
-                    .onErrorReturn(__ -> null)
-                    .toBlocking()
-                    .value();
+        final HDWallet wallet = currentWallet;
+        return wallet != null ? wallet : waitForWallet();
+    }
+
+    private static synchronized HDWallet waitForWallet() {
+        final ToshiManager toshiManager = BaseApplication.get().getToshiManager();
+        final HDWallet wallet = toshiManager
+                .getWallet()
+                .onErrorReturn(__ -> null)
+                .toBlocking()
+                .value();
+        if (walletSubscription == null) {
+            // Follow the wallet from now on so it changes on sign out and sign in
+            walletSubscription = toshiManager
+                    .getWalletObservable()
+                    .subscribe(
+                            newWallet -> currentWallet = newWallet,
+                            throwable -> LogUtil.exception("Error while observing wallet", throwable)
+                    );
+        }
+        return wallet;
     }
 }
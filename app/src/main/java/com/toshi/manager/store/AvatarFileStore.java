@@ -0,0 +1,128 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.store;
+
+import android.graphics.Bitmap;
+import android.support.annotation.Nullable;
+import android.support.v4.util.LruCache;
+
+import com.toshi.util.ImageUtil;
+import com.toshi.view.BaseApplication;
+
+import org.spongycastle.util.encoders.Hex;
+
+import java.io.File;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+
+// Group avatars are stored as files named by the SHA-256 of their contents; the Avatar
+// RealmObject only keeps the hash. Decoded bitmaps are kept in a memory cache keyed on that hash.
+public class AvatarFileStore {
+
+    private static final String AVATAR_DIRECTORY = "group_avatars";
+    private static final int MAX_DECODED_SIZE = 512;
+    private static final int MEMORY_CACHE_SIZE = (int) Math.min(Runtime.getRuntime().maxMemory() / 32, 8 * 1024 * 1024);
+
+    private static final LruCache<String, Bitmap> bitmapCache = new LruCache<String, Bitmap>(MEMORY_CACHE_SIZE) {
+        @Override
+        protected int sizeOf(final String key, final Bitmap value) {
+            return value.getByteCount();
+        }
+    };
+
+    private AvatarFileStore() {}
+
+    // Returns the hash the bytes are stored under. Identical avatars share a single file.
+    public static String save(final byte[] bytes) throws IOException {
+        final String hash = hash(bytes);
+        final File file = getFile(hash);
+        if (file.exists()) return hash;
+
+        final File tempFile = new File(file.getAbsolutePath() + ".tmp");
+        final BufferedSink sink = Okio.buffer(Okio.sink(tempFile));
+        try {
+            sink.write(bytes);
+        } finally {
+            sink.close();
+        }
+        if (!tempFile.renameTo(file)) throw new IOException("Unable to move avatar into place");
+        return hash;
+    }
+
+    public static File getFile(final String hash) {
+        return new File(getDirectory(), hash);
+    }
+
+    public static @Nullable byte[] readBytes(@Nullable final String hash) {
+        if (hash == null) return null;
+        final File file = getFile(hash);
+        if (!file.exists()) return null;
+        try {
+            final BufferedSource source = Okio.buffer(Okio.source(file));
+            try {
+                return source.readByteArray();
+            } finally {
+                source.close();
+            }
+        } catch (final IOException e) {
+            return null;
+        }
+    }
+
+    public static @Nullable Bitmap getCachedBitmap(@Nullable final String hash) {
+        return hash == null ? null : bitmapCache.get(hash);
+    }
+
+    // Blocking; call from a background thread
+    public static @Nullable Bitmap getBitmap(@Nullable final String hash) {
+        if (hash == null) return null;
+        final Bitmap cached = bitmapCache.get(hash);
+        if (cached != null) return cached;
+
+        final File file = getFile(hash);
+        if (!file.exists()) return null;
+        final Bitmap bitmap = ImageUtil.decodeSampledBitmap(file.getAbsolutePath(), MAX_DECODED_SIZE);
+        if (bitmap != null) bitmapCache.put(hash, bitmap);
+        return bitmap;
+    }
+
+    // The files are shared between accounts on the device so only the memory cache is cleared
+    public static void clearMemoryCache() {
+        bitmapCache.evictAll();
+    }
+
+    private static String hash(final byte[] bytes) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Hex.toHexString(digest.digest(bytes));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static File getDirectory() {
+        final File directory = new File(BaseApplication.get().getFilesDir(), AVATAR_DIRECTORY);
+        if (!directory.exists()) directory.mkdir();
+        return directory;
+    }
+}
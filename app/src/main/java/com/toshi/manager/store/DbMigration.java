@@ -19,8 +19,10 @@ package com.toshi.manager.store;
 
 
 import com.toshi.crypto.HDWallet;
+import com.toshi.util.logging.LogUtil;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -317,6 +319,30 @@ public class DbMigration implements RealmMigration {
 
             oldVersion++;
         }
+
+        // Move group avatar bytes out of Realm and into AvatarFileStore
+        if (oldVersion == 20) {
+            final RealmObjectSchema avatarSchema = schema.get("Avatar");
+            if (!avatarSchema.hasField("hash")) {
+                avatarSchema.addField("hash", String.class);
+            }
+
+            if (avatarSchema.hasField("bytes")) {
+                avatarSchema
+                        .transform(obj -> {
+                            final byte[] bytes = obj.getBlob("bytes");
+                            if (bytes == null) return;
+                            try {
+                                obj.setString("hash", AvatarFileStore.save(bytes));
+                            } catch (final IOException e) {
+                                LogUtil.exception("Unable to move group avatar out of the database", e);
+                            }
+                        })
+                        .removeField("bytes");
+            }
+
+            oldVersion++;
+        }
     }
 
     @Override
@@ -0,0 +1,50 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.transaction
+
+import android.os.SystemClock
+import java.math.BigInteger
+
+/**
+ * Keeps the last gas price the server suggested for each network, for up to [MAX_AGE_MS].
+ */
+class GasPriceCache(private val clock: () -> Long = { SystemClock.elapsedRealtime() }) {
+
+    companion object {
+        private const val MAX_AGE_MS = 1000L * 60 * 5
+    }
+
+    private class Entry(val gasPrice: BigInteger, val updatedAt: Long)
+
+    private val entries = HashMap<String, Entry>()
+
+    @Synchronized
+    fun get(networkId: String): BigInteger? {
+        val entry = entries[networkId] ?: return null
+        if (clock() - entry.updatedAt > MAX_AGE_MS) {
+            entries.remove(networkId)
+            return null
+        }
+        return entry.gasPrice
+    }
+
+    @Synchronized
+    fun put(networkId: String, gasPrice: BigInteger) {
+        entries.put(networkId, Entry(gasPrice, clock()))
+    }
+}
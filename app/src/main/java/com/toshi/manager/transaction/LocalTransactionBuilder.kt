@@ -0,0 +1,162 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.transaction
+
+import com.toshi.crypto.util.RLPView
+import com.toshi.crypto.util.TransactionEncoder
+import com.toshi.crypto.util.TypeConverter
+import com.toshi.model.local.Networks
+import com.toshi.model.network.SignedTransaction
+import com.toshi.model.network.TransactionRequest
+import com.toshi.model.network.UnsignedTransaction
+import com.toshi.util.logging.LogUtil
+import java.math.BigInteger
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Assembles plain ETH transfers on the device so a payment can be shown for confirmation without
+ * waiting for a /v1/tx/skel skeleton. Everything but the amount is learnt from earlier skeletons:
+ * the nonce of the sender (see [NonceTracker]), the gas price (see [GasPriceCache]) and the gas
+ * needed to pay each recipient, which is more than 21000 when the recipient is a contract.
+ * [buildTransaction] returns null when any of these is unknown and the caller asks the server instead.
+ */
+class LocalTransactionBuilder(
+        private val nonceTracker: NonceTracker = NonceTracker(),
+        private val gasPriceCache: GasPriceCache = GasPriceCache(),
+        private val getNetworkId: () -> String = { Networks.getInstance().currentNetwork.id }
+) {
+
+    companion object {
+        private const val FIELD_COUNT = 9
+        private const val NONCE = 0
+        private const val GAS_PRICE = 1
+        private const val GAS = 2
+        private const val CHAIN_ID = 6
+    }
+
+    private val transferGas = ConcurrentHashMap<String, BigInteger>()
+
+    fun buildTransaction(request: TransactionRequest): UnsignedTransaction? {
+        if (!isPlainTransfer(request)) return null
+        val from = request.from ?: return null
+        val to = request.to ?: return null
+        val value = request.value ?: return null
+        if (!value.startsWith("0x")) return null
+
+        val networkId = getNetworkId()
+        val chainId = networkId.toLongOrNull() ?: return null
+        val nonce = nonceTracker.getNextNonce(getKey(networkId, from)) ?: return null
+        val gasPrice = gasPriceCache.get(networkId) ?: return null
+        val gas = transferGas[getKey(networkId, to)] ?: return null
+
+        val encodedTransaction = try {
+            val weiValue = TypeConverter.StringHexToBigInteger(value)
+            TransactionEncoder.encodeUnsigned(nonce, gasPrice, gas, to, weiValue, null, chainId)
+        } catch (e: Exception) {
+            LogUtil.w("Unable to build transaction locally $e")
+            return null
+        }
+
+        return UnsignedTransaction(
+                encodedTransaction,
+                TypeConverter.toJsonHex(gas),
+                TypeConverter.toJsonHex(gasPrice),
+                TypeConverter.toJsonHex(nonce),
+                value
+        )
+    }
+
+    // Only values the server picked are learnt; a W3 request can carry its own nonce and gas price.
+    fun learnFromSkeleton(request: TransactionRequest, skeleton: UnsignedTransaction) {
+        val networkId = getNetworkId()
+        val fields = decode(skeleton.transaction) ?: return
+        if (!isForNetwork(fields, networkId)) return
+
+        val from = request.from
+        if (from != null && request.nonce == null) {
+            nonceTracker.learnNextNonce(getKey(networkId, from), fields.get(NONCE).asBigInteger())
+        }
+        if (request.gasPrice == null) {
+            gasPriceCache.put(networkId, fields.get(GAS_PRICE).asBigInteger())
+        }
+        val to = request.to
+        if (to != null && isPlainTransfer(request)) {
+            transferGas.put(getKey(networkId, to), fields.get(GAS).asBigInteger())
+        }
+    }
+
+    // Compares a locally built transaction with the skeleton the server builds for the same request.
+    // A mismatch only updates what was learnt; the payment already built keeps its values.
+    // The skeleton is fetched after every earlier transaction was accepted, so a lower server nonce
+    // means one of them was dropped or replaced and the local nonce would leave a gap.
+    fun verify(request: TransactionRequest, localTransaction: UnsignedTransaction, skeleton: UnsignedTransaction) {
+        if (localTransaction.transaction == skeleton.transaction) {
+            learnFromSkeleton(request, skeleton)
+            return
+        }
+
+        LogUtil.w("Locally built transaction differs from server skeleton. " +
+                "Local nonce: ${localTransaction.nonce}, gas price: ${localTransaction.gasPrice}, gas: ${localTransaction.gas}. " +
+                "Server: ${skeleton.transaction}")
+        learnFromSkeleton(request, skeleton)
+
+        val networkId = getNetworkId()
+        val from = request.from ?: return
+        val fields = decode(skeleton.transaction) ?: return
+        if (!isForNetwork(fields, networkId)) return
+        val localNonce = localTransaction.nonce?.let { TypeConverter.StringHexToBigInteger(it) } ?: return
+        val serverNonce = fields.get(NONCE).asBigInteger()
+        if (serverNonce < localNonce) nonceTracker.resetNextNonce(getKey(networkId, from), serverNonce)
+    }
+
+    fun onTransactionSent(fromAddress: String, signedTransaction: SignedTransaction) {
+        val networkId = getNetworkId()
+        val fields = decode(signedTransaction.skeleton) ?: return
+        if (!isForNetwork(fields, networkId)) return
+        nonceTracker.onTransactionSent(getKey(networkId, fromAddress), fields.get(NONCE).asBigInteger())
+    }
+
+    // The server may have rejected the nonce, so the next payment asks for a fresh skeleton
+    fun onTransactionFailed(fromAddress: String) = nonceTracker.invalidate(getKey(getNetworkId(), fromAddress))
+
+    private fun isPlainTransfer(request: TransactionRequest): Boolean {
+        return request.tokenAddress == null
+                && request.data == null
+                && request.gas == null
+                && request.gasPrice == null
+                && request.nonce == null
+    }
+
+    private fun isForNetwork(fields: RLPView, networkId: String): Boolean {
+        val chainId = fields.get(CHAIN_ID)
+        return !chainId.isEmpty && chainId.asBigInteger().toString() == networkId
+    }
+
+    private fun decode(encodedTransaction: String?): RLPView? {
+        if (encodedTransaction == null) return null
+        return try {
+            val fields = RLPView.decode(TypeConverter.StringHexToByteArray(encodedTransaction))
+            if (fields.isList && fields.size() == FIELD_COUNT) fields else null
+        } catch (e: Exception) {
+            LogUtil.w("Unable to decode transaction $e")
+            null
+        }
+    }
+
+    private fun getKey(networkId: String, address: String) = "$networkId:${address.toLowerCase()}"
+}
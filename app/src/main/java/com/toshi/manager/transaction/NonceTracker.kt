@@ -0,0 +1,71 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.transaction
+
+import android.os.SystemClock
+import java.math.BigInteger
+
+/**
+ * Remembers the next nonce of each sending address so transactions can be assembled on the device.
+ * The nonce is learnt from server skeletons and moved past every transaction that is accepted by the
+ * server. Entries are forgotten after [MAX_AGE_MS] so transactions sent from another device with the
+ * same wallet are picked up from the server again.
+ */
+class NonceTracker(private val clock: () -> Long = { SystemClock.elapsedRealtime() }) {
+
+    companion object {
+        private const val MAX_AGE_MS = 1000L * 60 * 10
+    }
+
+    private class Entry(val nextNonce: BigInteger, val updatedAt: Long)
+
+    private val entries = HashMap<String, Entry>()
+
+    @Synchronized
+    fun getNextNonce(key: String): BigInteger? {
+        val entry = entries[key] ?: return null
+        if (clock() - entry.updatedAt > MAX_AGE_MS) {
+            entries.remove(key)
+            return null
+        }
+        return entry.nextNonce
+    }
+
+    // Never moves backwards; a skeleton fetched just before our own transaction reached the
+    // server can still carry the nonce that transaction used. A lower nonce doesn't renew the
+    // entry either, so a nonce the server never saw expires instead of being kept alive.
+    @Synchronized
+    fun learnNextNonce(key: String, nextNonce: BigInteger) {
+        val current = getNextNonce(key)
+        if (current != null && nextNonce < current) return
+        entries.put(key, Entry(nextNonce, clock()))
+    }
+
+    // Takes the server's nonce even when it is lower, e.g. after a sent transaction was dropped
+    @Synchronized
+    fun resetNextNonce(key: String, nextNonce: BigInteger) {
+        entries.put(key, Entry(nextNonce, clock()))
+    }
+
+    fun onTransactionSent(key: String, nonce: BigInteger) = learnNextNonce(key, nonce.add(BigInteger.ONE))
+
+    @Synchronized
+    fun invalidate(key: String) {
+        entries.remove(key)
+    }
+}
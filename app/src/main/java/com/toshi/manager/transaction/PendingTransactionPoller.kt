@@ -0,0 +1,174 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.transaction
+
+import android.util.Pair
+import com.toshi.model.local.PendingTransaction
+import com.toshi.model.sofa.SofaType
+import com.toshi.model.sofa.payment.Payment
+import com.toshi.util.logging.LogUtil
+import rx.Observable
+import rx.Scheduler
+import rx.Single
+import rx.Subscription
+import rx.schedulers.Schedulers
+import rx.subjects.PublishSubject
+import java.util.concurrent.TimeUnit
+
+/**
+ * Polls the status of pending transactions until they are confirmed or failed.
+ * Transactions are polled often right after broadcast and less often as they get older,
+ * and at most [MAX_CONCURRENT_REQUESTS] status requests are in flight at any time.
+ */
+class PendingTransactionPoller(
+        private val getTransactionStatus: (String) -> Single<Payment>,
+        private val onPaymentUpdated: (PendingTransaction, Payment) -> Unit,
+        private val scheduler: Scheduler = Schedulers.io(),
+        private val clock: () -> Long = { System.currentTimeMillis() }
+) {
+
+    companion object {
+        private const val MAX_CONCURRENT_REQUESTS = 3
+        private const val MAX_POLLING_AGE_MS = 1000L * 60 * 60 * 24
+    }
+
+    private class PollState(val pendingTransaction: PendingTransaction, val broadcastAt: Long) {
+        var nextPollAt = 0L
+        var isPolling = false
+    }
+
+    private val pollStates = HashMap<String, PollState>()
+    private val pollQueue = PublishSubject.create<PollState>().toSerialized()
+    private var pollQueueSub: Subscription? = null
+    private var nextTickSub: Subscription? = null
+
+    @Synchronized
+    fun track(pendingTransaction: PendingTransaction) {
+        val txHash = pendingTransaction.txHash ?: return
+        if (pollStates.containsKey(txHash)) return
+        val broadcastAt = pendingTransaction.sofaMessage?.creationTime ?: clock()
+        pollStates.put(txHash, PollState(pendingTransaction, broadcastAt))
+        attachPollQueueSubscriber()
+        scheduleNextTick()
+    }
+
+    // Stops polling a transaction, e.g. when a push has already told us its final status.
+    @Synchronized
+    fun untrack(txHash: String) {
+        pollStates.remove(txHash)
+        scheduleNextTick()
+    }
+
+    private fun attachPollQueueSubscriber() {
+        if (pollQueueSub != null) return
+        pollQueueSub = pollQueue
+                .onBackpressureBuffer()
+                .flatMap({ pollTransaction(it) }, MAX_CONCURRENT_REQUESTS)
+                .subscribe(
+                        { handlePollResult(it.first, it.second) },
+                        { LogUtil.exception("Error while polling pending transactions $it") }
+                )
+    }
+
+    private fun pollTransaction(pollState: PollState): Observable<Pair<PollState, Payment?>> {
+        return getTransactionStatus(pollState.pendingTransaction.txHash)
+                .subscribeOn(scheduler)
+                .toObservable()
+                .map { Pair<PollState, Payment?>(pollState, it) }
+                .onErrorReturn { Pair<PollState, Payment?>(pollState, null) }
+    }
+
+    @Synchronized
+    private fun scheduleNextTick() {
+        nextTickSub?.unsubscribe()
+        nextTickSub = null
+        val nextPollAt = pollStates.values
+                .filter { !it.isPolling }
+                .map { it.nextPollAt }
+                .min() ?: return
+        val delay = Math.max(nextPollAt - clock(), 0)
+        nextTickSub = Observable
+                .timer(delay, TimeUnit.MILLISECONDS, scheduler)
+                .subscribe(
+                        { pollDueTransactions() },
+                        { LogUtil.exception("Error while scheduling transaction polling $it") }
+                )
+    }
+
+    private fun pollDueTransactions() {
+        takeDueTransactions().forEach { pollQueue.onNext(it) }
+        scheduleNextTick()
+    }
+
+    @Synchronized
+    private fun takeDueTransactions(): List<PollState> {
+        val now = clock()
+        val dueTransactions = pollStates.values.filter { !it.isPolling && it.nextPollAt <= now }
+        dueTransactions.forEach { it.isPolling = true }
+        return dueTransactions
+    }
+
+    private fun handlePollResult(pollState: PollState, payment: Payment?) {
+        val isFinalStatus = payment != null && payment.status != SofaType.UNCONFIRMED
+        val isStillTracked = updatePollState(pollState, isFinalStatus)
+        // Unconfirmed results don't change anything, so only final statuses are passed on
+        if (!isStillTracked || !isFinalStatus || payment == null) return
+        // An error escaping here would end the poll queue subscription and stop polling for good
+        try {
+            onPaymentUpdated(pollState.pendingTransaction, payment)
+        } catch (e: Exception) {
+            LogUtil.exception("Error while updating polled transaction", e)
+        }
+    }
+
+    // Returns true if the result is still relevant, i.e. the transaction wasn't untracked while polling.
+    @Synchronized
+    private fun updatePollState(pollState: PollState, isFinalStatus: Boolean): Boolean {
+        val txHash = pollState.pendingTransaction.txHash
+        if (pollStates[txHash] !== pollState) return false
+        pollState.isPolling = false
+
+        val now = clock()
+        val age = now - pollState.broadcastAt
+        if (isFinalStatus || age > MAX_POLLING_AGE_MS) {
+            pollStates.remove(txHash)
+        } else {
+            pollState.nextPollAt = now + getPollInterval(age)
+        }
+        scheduleNextTick()
+        return true
+    }
+
+    private fun getPollInterval(age: Long): Long {
+        return when {
+            age < TimeUnit.MINUTES.toMillis(2) -> TimeUnit.SECONDS.toMillis(5)
+            age < TimeUnit.MINUTES.toMillis(10) -> TimeUnit.SECONDS.toMillis(15)
+            age < TimeUnit.HOURS.toMillis(1) -> TimeUnit.MINUTES.toMillis(1)
+            else -> TimeUnit.MINUTES.toMillis(5)
+        }
+    }
+
+    @Synchronized
+    fun clear() {
+        pollStates.clear()
+        nextTickSub?.unsubscribe()
+        nextTickSub = null
+        pollQueueSub?.unsubscribe()
+        pollQueueSub = null
+    }
+}
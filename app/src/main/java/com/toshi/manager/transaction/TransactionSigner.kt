@@ -28,7 +28,7 @@ import com.toshi.model.network.UnsignedTransaction
 import com.toshi.util.logging.LogUtil
 import rx.Single
 
-class TransactionSigner {
+class TransactionSigner(private val localTransactionBuilder: LocalTransactionBuilder) {
 
     var wallet: HDWallet? = null
 
@@ -64,7 +64,17 @@ class TransactionSigner {
         return EthereumService
                 .getApi()
                 .sendSignedTransaction(timestamp, signedTransaction)
+                .doOnSuccess { onTransactionSent(signedTransaction) }
+                .doOnError { onTransactionFailed() }
     }
 
-    private fun getServerTime() = EthereumService.getApi().timestamp
+    private fun onTransactionSent(signedTransaction: SignedTransaction) {
+        wallet?.let { localTransactionBuilder.onTransactionSent(it.paymentAddress, signedTransaction) }
+    }
+
+    private fun onTransactionFailed() {
+        wallet?.let { localTransactionBuilder.onTransactionFailed(it.paymentAddress) }
+    }
+
+    private fun getServerTime() = EthereumService.getServerClock().timestamp
 }
\ No newline at end of file
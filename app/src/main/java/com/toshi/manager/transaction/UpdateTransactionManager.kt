@@ -17,7 +17,6 @@
 
 package com.toshi.manager.transaction
 
-import android.util.Pair
 import com.toshi.exception.UnknownTransactionException
 import com.toshi.manager.store.PendingTransactionStore
 import com.toshi.model.local.PendingTransaction
@@ -30,7 +29,6 @@ import com.toshi.model.sofa.SofaType
 import com.toshi.model.sofa.payment.Payment
 import com.toshi.util.logging.LogUtil
 import com.toshi.view.BaseApplication
-import rx.Observable
 import rx.Subscription
 import rx.schedulers.Schedulers
 import rx.subjects.PublishSubject
@@ -43,7 +41,14 @@ class UpdateTransactionManager(private val pendingTransactionStore: PendingTrans
     private val balanceManager by lazy { BaseApplication.get().balanceManager }
     private val updatePaymentQueue by lazy { PublishSubject.create<Payment>() }
     private val subscriptions by lazy { CompositeSubscription() }
+    private val transactionPoller by lazy {
+        PendingTransactionPoller(
+                { balanceManager.getTransactionStatus(it) },
+                { pendingTransaction, payment -> updatePendingTransaction(pendingTransaction, payment) }
+        )
+    }
     private var updatePaymentSub: Subscription? = null
+    private var pendingTransactionSub: Subscription? = null
 
     fun attachUpdatePaymentSubscriber() {
         // Explicitly clear first to avoid double subscription
@@ -56,10 +61,25 @@ class UpdateTransactionManager(private val pendingTransactionStore: PendingTrans
                         { LogUtil.exception("Error when updating payment $it") }
                 )
 
-        subscriptions.add(updatePaymentSub)
+        pendingTransactionSub = pendingTransactionStore
+                .pendingTransactionObservable
+                .filter { it != null }
+                .subscribe(
+                        { trackOrUntrack(it) },
+                        { LogUtil.exception("Error when tracking pending transaction $it") }
+                )
+
+        subscriptions.addAll(updatePaymentSub, pendingTransactionSub)
+    }
+
+    private fun trackOrUntrack(pendingTransaction: PendingTransaction) {
+        if (isUnconfirmed(pendingTransaction)) transactionPoller.track(pendingTransaction)
+        else transactionPoller.untrack(pendingTransaction.txHash)
     }
 
     private fun processUpdatedPayment(payment: Payment) {
+        // The push already has the final status, so there is no need to keep polling for it
+        if (payment.status != SofaType.UNCONFIRMED) transactionPoller.untrack(payment.txHash)
         val sub = pendingTransactionStore
                 .loadTransaction(payment.txHash)
                 .subscribeOn(Schedulers.io())
@@ -77,29 +97,15 @@ class UpdateTransactionManager(private val pendingTransactionStore: PendingTrans
                 .toObservable()
                 .flatMapIterable { it }
                 .filter { isUnconfirmed(it) }
-                .flatMap {
-                    Observable.zip(
-                            Observable.just(it),
-                            getTransactionStatus(it),
-                            { first, second -> Pair(first, second) }
-                    )
-                }
-                .onErrorReturn { Pair(null, null) }
                 .subscribeOn(Schedulers.io())
                 .subscribe(
-                        { updatePendingTransaction(it.first, it.second) },
+                        { transactionPoller.track(it) },
                         { LogUtil.exception("Error during updating pending transaction $it") }
                 )
 
         subscriptions.add(sub)
     }
 
-    private fun getTransactionStatus(pendingTransaction: PendingTransaction): Observable<Payment> {
-        return balanceManager
-                .getTransactionStatus(pendingTransaction.txHash)
-                .toObservable()
-    }
-
     // Returns false if this is a new transaction that the app is unaware of.
     // Returns true if the transaction was correctly updated.
     private fun updatePendingTransaction(pendingTransaction: PendingTransaction?, updatedPayment: Payment?): Boolean {
@@ -151,5 +157,14 @@ class UpdateTransactionManager(private val pendingTransactionStore: PendingTrans
     }
 
     fun updatePayment(payment: Payment) = updatePaymentQueue.onNext(payment)
-    fun clearSubscription() = updatePaymentSub?.unsubscribe()
+
+    fun clearSubscription() {
+        updatePaymentSub?.unsubscribe()
+        pendingTransactionSub?.unsubscribe()
+    }
+
+    fun clear() {
+        clearSubscription()
+        transactionPoller.clear()
+    }
 }
\ No newline at end of file
@@ -22,6 +22,7 @@ import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
 import android.support.annotation.Nullable;
 
+import com.toshi.manager.store.AvatarFileStore;
 import com.toshi.util.FileUtil;
 import com.toshi.util.ImageUtil;
 import com.toshi.util.logging.LogUtil;
@@ -34,14 +35,17 @@ import org.whispersystems.signalservice.api.messages.SignalServiceAttachmentStre
 import org.whispersystems.signalservice.api.messages.SignalServiceGroup;
 
 import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
 
 import io.realm.RealmObject;
 import io.realm.annotations.Ignore;
+import okio.BufferedSource;
+import okio.Okio;
 import rx.Single;
 
+// The image itself lives in AvatarFileStore; only its hash is stored in Realm
 public class Avatar extends RealmObject {
-    private byte[] bytes;
+    private String hash;
 
     @Ignore
     private SignalServiceAttachmentStream attachmentStream;
@@ -50,12 +54,16 @@ public class Avatar extends RealmObject {
 
     /* package */ Avatar(final Bitmap avatar) {
         try {
-            init(avatar);
-        } catch (final NullPointerException | FileNotFoundException | IllegalStateException ex) {
+            init(ImageUtil.toByteArray(avatar));
+        } catch (final NullPointerException | IOException ex) {
             LogUtil.w("Avatar not initialised. " + ex);
         }
     }
 
+    private Avatar(final byte[] bytes) throws IOException {
+        init(bytes);
+    }
+
     public static Single<Avatar> processFromSignalGroup(final SignalServiceGroup group, final SignalServiceMessageReceiver messageReceiver) {
         if (group.getAvatar().isPresent()) {
             return Single.fromCallable(() -> {
@@ -64,9 +72,7 @@ public class Avatar extends RealmObject {
                 return FileUtil.writeAvatarToFileFromMessageReceiver(attachment, messageReceiver, groupId);
             })
             .flatMap(Avatar::compressImage)
-            .map(File::getAbsolutePath)
-            .map(BitmapFactory::decodeFile)
-            .map(Avatar::new);
+            .map(Avatar::fromFile);
         }
 
         return Single.just(new Avatar());
@@ -77,14 +83,38 @@ public class Avatar extends RealmObject {
         return FileUtil.compressImage(FileUtil.MAX_SIZE, file);
     }
 
-    private void init(final Bitmap avatar) throws FileNotFoundException, IllegalStateException {
-        if (avatar == null) throw new NullPointerException("avatar is null");
-        this.bytes = ImageUtil.toByteArray(avatar);
-        generateAttachmentStream();
+    // The compressed file is stored as is rather than being decoded and re-encoded as PNG
+    private static Avatar fromFile(final File file) {
+        try {
+            final BufferedSource source = Okio.buffer(Okio.source(file));
+            try {
+                return new Avatar(source.readByteArray());
+            } finally {
+                source.close();
+                file.delete();
+            }
+        } catch (final IOException ex) {
+            LogUtil.w("Avatar not initialised. " + ex);
+            return new Avatar();
+        }
+    }
+
+    private void init(final byte[] bytes) throws IOException {
+        if (bytes == null) throw new NullPointerException("avatar is null");
+        this.hash = AvatarFileStore.save(bytes);
+        this.attachmentStream = buildAttachmentStream(bytes);
     }
 
-    public byte[] getBytes() {
-        return bytes;
+    public @Nullable String getHash() {
+        return this.hash;
+    }
+
+    public boolean hasImage() {
+        return this.hash != null;
+    }
+
+    public @Nullable File getFile() {
+        return this.hash == null ? null : AvatarFileStore.getFile(this.hash);
     }
 
     public SignalServiceAttachment getStream() {
@@ -93,7 +123,16 @@ public class Avatar extends RealmObject {
     }
 
     private void generateAttachmentStream() {
-        if (this.bytes == null) return;
-        this.attachmentStream = FileUtil.buildSignalServiceAttachment(this.bytes);
+        final byte[] bytes = AvatarFileStore.readBytes(this.hash);
+        if (bytes == null) return;
+        this.attachmentStream = buildAttachmentStream(bytes);
+    }
+
+    private static SignalServiceAttachmentStream buildAttachmentStream(final byte[] bytes) {
+        final BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(bytes, 0, bytes.length, options);
+        final String contentType = options.outMimeType != null ? options.outMimeType : "image/png";
+        return FileUtil.buildSignalServiceAttachment(bytes, contentType);
     }
 }
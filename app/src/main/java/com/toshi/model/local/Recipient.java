@@ -19,6 +19,7 @@ package com.toshi.model.local;
 
 import android.widget.ImageView;
 
+import com.toshi.R;
 import com.toshi.util.ImageUtil;
 
 import io.realm.RealmObject;
@@ -72,6 +73,7 @@ public class Recipient extends RealmObject {
         if (isGroup()) {
             ImageUtil.load(getGroupAvatar(), imageView);
         } else {
+            imageView.setTag(R.id.group_avatar_hash, null);
             ImageUtil.load(getUserAvatar(), imageView);
         }
     }
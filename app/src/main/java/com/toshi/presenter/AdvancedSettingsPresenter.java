@@ -30,6 +30,7 @@ import com.toshi.model.local.Networks;
 import com.toshi.util.BuildTypes;
 import com.toshi.util.DialogUtil;
 import com.toshi.util.logging.LogUtil;
+import com.toshi.util.logging.NetworkLogging;
 import com.toshi.view.BaseApplication;
 import com.toshi.view.activity.AdvancedSettingsActivity;
 import com.toshi.view.activity.LicenseListActivity;
@@ -70,12 +71,45 @@ public class AdvancedSettingsPresenter implements Presenter<AdvancedSettingsActi
         setVersionName();
         setNetworkSwitcherVisibility();
         setCurrentNetwork(Networks.getInstance().getCurrentNetwork());
+        setNetworkLoggingVisibility();
+        setNetworkLoggingLevel(NetworkLogging.getLevel());
     }
 
     private void initCLickListeners() {
         this.activity.getBinding().closeButton.setOnClickListener(__ -> this.activity.finish());
         this.activity.getBinding().currentNetworkWrapper.setOnClickListener(__ -> handleCurrentNetworkClicked());
         this.activity.getBinding().openSourceLicenses.setOnClickListener(this::handleOpenSourceLicencesClicked);
+        this.activity.getBinding().networkLoggingWrapper.setOnClickListener(__ -> handleNetworkLoggingClicked());
+    }
+
+    private void handleNetworkLoggingClicked() {
+        final @NetworkLogging.Level int nextLevel = NetworkLogging.getNextLevel();
+        NetworkLogging.setLevel(nextLevel);
+        setNetworkLoggingLevel(nextLevel);
+    }
+
+    private void setNetworkLoggingVisibility() {
+        final int visibility = NetworkLogging.isAvailable()
+                ? View.VISIBLE
+                : View.GONE;
+        this.activity.getBinding().networkLoggingWrapper.setVisibility(visibility);
+    }
+
+    private void setNetworkLoggingLevel(final @NetworkLogging.Level int level) {
+        final @StringRes int levelName;
+        switch (level) {
+            case NetworkLogging.HEADERS:
+                levelName = R.string.network_logging_headers;
+                break;
+            case NetworkLogging.BODY:
+                levelName = R.string.network_logging_body;
+                break;
+            case NetworkLogging.OFF:
+            default:
+                levelName = R.string.network_logging_off;
+                break;
+        }
+        this.activity.getBinding().networkLoggingLevel.setText(levelName);
     }
 
     private void handleCurrentNetworkClicked() {
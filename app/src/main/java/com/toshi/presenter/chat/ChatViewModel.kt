@@ -34,6 +34,7 @@ import com.toshi.model.sofa.PaymentRequest
 import com.toshi.model.sofa.SofaMessage
 import com.toshi.util.FileUtil
 import com.toshi.util.SingleLiveEvent
+import com.toshi.util.ThumbnailUtil
 import com.toshi.util.logging.LogUtil
 import com.toshi.view.BaseApplication
 import com.toshi.view.notification.ChatNotificationManager
@@ -280,6 +281,7 @@ class ChatViewModel(private val threadId: String) : ViewModel() {
 
     fun sendMediaMessage(file: File) {
         val sub = FileUtil.compressImage(FileUtil.MAX_SIZE.toLong(), file)
+                .doOnSuccess { ThumbnailUtil.createThumbnail(it.absolutePath) }
                 .subscribe(
                         { compressedFile -> sendMediaMessage(compressedFile.absolutePath) },
                         { LogUtil.exception("Unable to compress image $it") }
@@ -37,6 +37,7 @@ import com.google.firebase.messaging.FirebaseMessagingService;
 import com.google.firebase.messaging.RemoteMessage;
 import com.toshi.model.local.IncomingMessage;
 import com.toshi.model.local.User;
+import com.toshi.model.sofa.payment.ERC20TokenPayment;
 import com.toshi.model.sofa.payment.Payment;
 import com.toshi.model.sofa.SofaAdapters;
 import com.toshi.model.sofa.SofaMessage;
@@ -44,7 +45,6 @@ import com.toshi.model.sofa.SofaType;
 import com.toshi.util.logging.LogUtil;
 import com.toshi.util.SharedPrefsUtil;
 import com.toshi.view.BaseApplication;
-import com.toshi.view.notification.ChatNotificationManager;
 
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -91,7 +91,8 @@ public class GcmMessageReceiver extends FirebaseMessagingService {
                 final Payment payment = SofaAdapters.get().paymentFrom(sofaMessage.getPayload());
                 checkIfUserIsBlocked(payment);
             } else if (sofaMessage.getType() == SofaType.TOKEN_PAYMENT) {
-                final Payment payment = SofaAdapters.get().tokenPaymentFrom(sofaMessage.getPayload());
+                final ERC20TokenPayment payment = SofaAdapters.get().tokenPaymentFrom(sofaMessage.getPayload());
+                invalidateCachedToken(payment);
                 addIncomingPayment(payment);
             } else {
                 tryShowIncomingMessage();
@@ -155,16 +156,14 @@ public class GcmMessageReceiver extends FirebaseMessagingService {
     }
 
     private void tryShowIncomingMessage() {
-        final IncomingMessage incomingMessage;
         try {
-            incomingMessage = getIncomingMessage();
+            getIncomingMessage();
         } catch (InterruptedException | TimeoutException e) {
             LogUtil.i("Fetched all new messages");
             return;
         }
 
-        ChatNotificationManager.showNotification(incomingMessage);
-        // There may be more messages.
+        // The message receiver has already shown the notification. There may be more messages.
         tryShowIncomingMessage();
     }
 
@@ -192,6 +191,13 @@ public class GcmMessageReceiver extends FirebaseMessagingService {
                 .addIncomingPayment(payment);
     }
 
+    private void invalidateCachedToken(final ERC20TokenPayment payment) {
+        BaseApplication
+                .get()
+                .getBalanceManager()
+                .invalidateERC20Token(payment.getContractAddress());
+    }
+
     private void refreshBalance() {
         BaseApplication
                 .get()
@@ -74,7 +74,7 @@ public class EthUtil {
     }
 
     public static String encodeToHex(final String value) throws NumberFormatException, NullPointerException {
-        return String.format("%s%s", "0x", new BigInteger(value).toString(16));
+        return TypeConverter.toJsonHex(new BigInteger(value));
     }
 
     public static boolean isLargeEnoughForSending(final BigDecimal eth) {
@@ -0,0 +1,50 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.util;
+
+// Exponential backoff with an upper bound.
+public class ExponentialBackoff {
+
+    private final long initialDelay;
+    private final long maxDelay;
+    private long nextDelay;
+
+    public ExponentialBackoff(final long initialDelay, final long maxDelay) {
+        if (initialDelay <= 0 || maxDelay < initialDelay) {
+            throw new IllegalArgumentException("Invalid backoff bounds");
+        }
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.nextDelay = initialDelay;
+    }
+
+    // Returns the delay to wait before the next attempt, and doubles the delay after that.
+    public synchronized long next() {
+        final long delay = this.nextDelay;
+        this.nextDelay = Math.min(this.nextDelay * 2, this.maxDelay);
+        return delay;
+    }
+
+    public synchronized long peek() {
+        return this.nextDelay;
+    }
+
+    public synchronized void reset() {
+        this.nextDelay = this.initialDelay;
+    }
+}
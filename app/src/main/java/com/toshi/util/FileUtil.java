@@ -20,7 +20,6 @@ package com.toshi.util;
 import android.content.Context;
 import android.database.Cursor;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.net.Uri;
 import android.provider.MediaStore;
 import android.support.annotation.Nullable;
@@ -64,6 +63,7 @@ public class FileUtil {
     private FileUtil() {}
 
     public static final int MAX_SIZE = 1024 * 1024;
+    private static final int MAX_IMAGE_DIMENSION = 2048;
     public static final String FILE_PROVIDER_NAME = ".fileProvider";
 
     public static Single<File> saveFileFromUri(final Context context, final Uri uri) {
@@ -158,10 +158,15 @@ public class FileUtil {
         return Single.fromCallable(() -> {
             if (file.length() <= maxSize) return file;
             final int compressPercentage = (int)(((double)maxSize / file.length()) * 100);
-            final Bitmap bitmap = BitmapFactory.decodeFile(file.getAbsolutePath());
+            final Bitmap bitmap = ImageUtil.decodeSampledBitmap(file.getAbsolutePath(), MAX_IMAGE_DIMENSION);
             if (bitmap == null) return file; // Return original file if bitmap is null
             final OutputStream outputStream = new FileOutputStream(file);
-            bitmap.compress(Bitmap.CompressFormat.JPEG, compressPercentage, outputStream);
+            try {
+                bitmap.compress(Bitmap.CompressFormat.JPEG, compressPercentage, outputStream);
+            } finally {
+                outputStream.close();
+                bitmap.recycle();
+            }
             return file;
         })
         .subscribeOn(Schedulers.io());
@@ -203,6 +208,15 @@ public class FileUtil {
         return file.exists() ? file.length() : 0;
     }
 
+    public static void deleteRecursively(final File file) {
+        if (file == null || !file.exists()) return;
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (final File child : children) deleteRecursively(child);
+        }
+        file.delete();
+    }
+
     public static Uri getUriFromFile(final File file) {
         return FileProvider
                 .getUriForFile(
@@ -228,8 +242,12 @@ public class FileUtil {
     }
 
     public static SignalServiceAttachmentStream buildSignalServiceAttachment(final byte[] bytes) {
+        return buildSignalServiceAttachment(bytes, "image/png");
+    }
+
+    public static SignalServiceAttachmentStream buildSignalServiceAttachment(final byte[] bytes, final String contentType) {
         return SignalServiceAttachmentStream.newStreamBuilder()
-                .withContentType("image/png")
+                .withContentType(contentType)
                 .withStream(new ByteArrayInputStream(bytes))
                 .withLength(bytes.length)
                 .build();
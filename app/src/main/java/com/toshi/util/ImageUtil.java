@@ -21,17 +21,22 @@ import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
 import android.graphics.Color;
+import android.graphics.Matrix;
+import android.media.ExifInterface;
 import android.net.Uri;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.v4.content.ContextCompat;
 import android.widget.ImageView;
 
+import com.bumptech.glide.DrawableRequestBuilder;
 import com.bumptech.glide.DrawableTypeRequest;
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.Priority;
 import com.bumptech.glide.RequestManager;
 import com.bumptech.glide.load.engine.DiskCacheStrategy;
 import com.bumptech.glide.request.target.Target;
+import com.bumptech.glide.signature.StringSignature;
 import com.google.common.io.Files;
 import com.google.zxing.BarcodeFormat;
 import com.google.zxing.EncodeHintType;
@@ -40,8 +45,9 @@ import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
 import com.toshi.R;
 import com.toshi.exception.QrCodeException;
+import com.toshi.manager.network.image.AvatarCache;
 import com.toshi.manager.network.image.CachedGlideUrl;
-import com.toshi.manager.network.image.ForceLoadGlideUrl;
+import com.toshi.manager.store.AvatarFileStore;
 import com.toshi.model.local.Avatar;
 import com.toshi.model.local.Recipient;
 import com.toshi.util.logging.LogUtil;
@@ -50,6 +56,7 @@ import com.toshi.view.custom.CropCircleTransformation;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -68,47 +75,97 @@ public class ImageUtil {
     public static void load(final String url, final ImageView imageView) {
         if (url == null || imageView == null) return;
 
-        Single
-            .fromCallable(() -> loadFromNetwork(url, imageView))
-            .subscribeOn(Schedulers.io())
-            .observeOn(AndroidSchedulers.mainThread())
-            .doOnSubscribe(() -> renderFromCache(url, imageView))
-            .subscribe(
-                    __ -> {},
-                    throwable -> LogUtil.exception(throwable)
-            );
-    }
-
-    @Nullable
-    public static Target loadFromNetwork(final String url, final ImageView imageView) {
+        AvatarCache.bind(imageView, url);
+        renderFromCache(url, imageView);
+        AvatarCache
+                .revalidateIfStale(url)
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(
+                        hasChanged -> handleRevalidation(url, hasChanged),
+                        throwable -> LogUtil.w("Error while revalidating avatar " + throwable)
+                );
+    }
+
+    // Revalidates straight away, for when the image behind the url is known to have changed
+    public static void loadFromNetwork(final String url, final ImageView imageView) {
+        if (url == null || imageView == null) return;
+
+        AvatarCache.bind(imageView, url);
+        renderFromCache(url, imageView);
+        AvatarCache
+                .revalidate(url)
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(
+                        hasChanged -> handleRevalidation(url, hasChanged),
+                        throwable -> LogUtil.w("Error while revalidating avatar " + throwable)
+                );
+    }
+
+    private static void handleRevalidation(final String url, final boolean hasChanged) {
+        if (!hasChanged) return;
+        for (final ImageView imageView : AvatarCache.getViewsBoundTo(url)) {
+            renderFromCache(url, imageView);
+        }
+    }
+
+    private static void renderFromCache(final String url, final ImageView imageView) {
         try {
-            return Glide
-                    .with(imageView.getContext())
-                    .load(new ForceLoadGlideUrl(url))
-                    .diskCacheStrategy(DiskCacheStrategy.NONE)
-                    .error(R.drawable.placeholder)
-                    .skipMemoryCache(true)
-                    .into(imageView);
+            final DrawableRequestBuilder<CachedGlideUrl> request = buildAvatarRequest(imageView.getContext(), url)
+                    .error(R.drawable.placeholder);
+            final int sizeBucket = AvatarCache.getSizeBucket(imageView);
+            if (sizeBucket > 0) request.override(sizeBucket, sizeBucket);
+            request.into(imageView);
         } catch (final IllegalArgumentException ex) {
             LogUtil.i("Tried to render into a now destroyed view.");
-            return null;
         }
     }
 
-    private static void renderFromCache(final String url, final ImageView imageView) {
-        try {
-            Glide
-                .with(imageView.getContext())
+    // The transformation is set here rather than left to into(ImageView), which adds centerCrop for
+    // the CENTER_CROP avatar views. preload() adds none, so both paths need it to share a cache key.
+    private static DrawableRequestBuilder<CachedGlideUrl> buildAvatarRequest(final Context context, final String url) {
+        return Glide
+                .with(context)
                 .load(new CachedGlideUrl(url))
-                .diskCacheStrategy(DiskCacheStrategy.NONE)
-                .error(R.drawable.placeholder)
-                .skipMemoryCache(true)
-                .into(imageView);
+                .signature(new StringSignature(AvatarCache.getVersion(url)))
+                .diskCacheStrategy(DiskCacheStrategy.RESULT)
+                .centerCrop();
+    }
+
+    // Warms the caches with the same request load() makes for a view of the given size
+    public static Target prefetchAvatar(final Context context, final String url, final int size) {
+        final int sizeBucket = AvatarCache.getSizeBucket(size);
+        return buildAvatarRequest(context, url)
+                .priority(Priority.LOW)
+                .preload(sizeBucket, sizeBucket);
+    }
+
+    // Renders an image bounded by the given size, so it can be prefetched with prefetchFile
+    public static void renderFileIntoTarget(final File file, final ImageView imageView, final int width, final int height) {
+        if (imageView == null || imageView.getContext() == null) return;
+
+        try {
+            buildFileRequest(imageView.getContext(), file, width, height)
+                    .into(imageView);
         } catch (final IllegalArgumentException ex) {
             LogUtil.i("Tried to render into a now destroyed view.");
         }
     }
 
+    public static Target prefetchFile(final Context context, final File file, final int width, final int height) {
+        return buildFileRequest(context, file, width, height)
+                .priority(Priority.LOW)
+                .preload();
+    }
+
+    private static DrawableRequestBuilder<File> buildFileRequest(final Context context, final File file, final int width, final int height) {
+        return Glide
+                .with(context)
+                .load(file)
+                .diskCacheStrategy(DiskCacheStrategy.RESULT)
+                .fitCenter()
+                .override(width, height);
+    }
+
     public static void renderFileIntoTarget(final File result, final ImageView imageView) {
         if (imageView == null || imageView.getContext() == null) return;
 
@@ -137,14 +194,27 @@ public class ImageUtil {
     }
 
     public static void load(final Avatar avatar, final ImageView imageView) {
-        if (avatar == null || avatar.getBytes() == null || imageView == null) return;
+        if (avatar == null || !avatar.hasImage() || imageView == null) return;
+        final String hash = avatar.getHash();
+        Glide.clear(imageView);
+        imageView.setTag(R.id.group_avatar_hash, hash);
+
+        final Bitmap cached = AvatarFileStore.getCachedBitmap(hash);
+        if (cached != null) {
+            imageView.setImageBitmap(cached);
+            return;
+        }
 
         Single
-                .fromCallable(() -> BitmapFactory.decodeByteArray(avatar.getBytes(), 0, avatar.getBytes().length))
+                .fromCallable(() -> AvatarFileStore.getBitmap(hash))
                 .subscribeOn(Schedulers.io())
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe(
-                        imageView::setImageBitmap,
+                        bitmap -> {
+                            // The view may have been rebound while decoding
+                            if (bitmap == null || !hash.equals(imageView.getTag(R.id.group_avatar_hash))) return;
+                            imageView.setImageBitmap(bitmap);
+                        },
                         throwable -> LogUtil.exception(throwable)
                 );
     }
@@ -171,7 +241,7 @@ public class ImageUtil {
     public static Bitmap loadNotificationIcon(final Recipient recipient) throws ExecutionException, InterruptedException {
         final RequestManager requestManager = Glide.with(BaseApplication.get());
         final DrawableTypeRequest typeRequest = recipient.isGroup()
-                ? requestManager.load(recipient.getGroupAvatar().getBytes())
+                ? requestManager.load(recipient.getGroupAvatar().getFile())
                 : requestManager.load(recipient.getUserAvatar());
         return (Bitmap) typeRequest
                 .asBitmap()
@@ -214,6 +284,68 @@ public class ImageUtil {
         return supportedImageTypes.contains(fileExtension);
     }
 
+    // Decodes the image at path so that its longest side is at most maxSize pixels, reading only
+    // every n-th pixel from disk rather than decoding the full resolution image first.
+    public static @Nullable Bitmap decodeSampledBitmap(final String path, final int maxSize) {
+        final BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(path, options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) return null;
+
+        options.inSampleSize = calculateInSampleSize(options.outWidth, options.outHeight, maxSize);
+        options.inJustDecodeBounds = false;
+        final Bitmap sampled = BitmapFactory.decodeFile(path, options);
+        if (sampled == null) return null;
+
+        final Bitmap scaled = scaleToFit(sampled, maxSize);
+        return rotateFromExif(path, scaled);
+    }
+
+    private static int calculateInSampleSize(final int width, final int height, final int maxSize) {
+        final int longestSide = Math.max(width, height);
+        int inSampleSize = 1;
+        while (longestSide / (inSampleSize * 2) >= maxSize) {
+            inSampleSize *= 2;
+        }
+        return inSampleSize;
+    }
+
+    private static Bitmap scaleToFit(final Bitmap bitmap, final int maxSize) {
+        final int longestSide = Math.max(bitmap.getWidth(), bitmap.getHeight());
+        if (longestSide <= maxSize) return bitmap;
+        final float scale = (float) maxSize / longestSide;
+        final int width = Math.max(1, Math.round(bitmap.getWidth() * scale));
+        final int height = Math.max(1, Math.round(bitmap.getHeight() * scale));
+        final Bitmap scaled = Bitmap.createScaledBitmap(bitmap, width, height, true);
+        if (scaled != bitmap) bitmap.recycle();
+        return scaled;
+    }
+
+    private static Bitmap rotateFromExif(final String path, final Bitmap bitmap) {
+        final int degrees = getExifRotation(path);
+        if (degrees == 0) return bitmap;
+        final Matrix matrix = new Matrix();
+        matrix.postRotate(degrees);
+        final Bitmap rotated = Bitmap.createBitmap(bitmap, 0, 0, bitmap.getWidth(), bitmap.getHeight(), matrix, true);
+        if (rotated != bitmap) bitmap.recycle();
+        return rotated;
+    }
+
+    private static int getExifRotation(final String path) {
+        try {
+            final ExifInterface exif = new ExifInterface(path);
+            final int orientation = exif.getAttributeInt(ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+            switch (orientation) {
+                case ExifInterface.ORIENTATION_ROTATE_90: return 90;
+                case ExifInterface.ORIENTATION_ROTATE_180: return 180;
+                case ExifInterface.ORIENTATION_ROTATE_270: return 270;
+                default: return 0;
+            }
+        } catch (final IOException e) {
+            return 0;
+        }
+    }
+
     public static @Nullable byte[] toByteArray(@Nullable Bitmap bitmap) {
         final Bitmap.CompressFormat format = Bitmap.CompressFormat.PNG;
         if (bitmap == null) return null;
@@ -223,6 +355,7 @@ public class ImageUtil {
     }
 
     public static void clear() {
+        AvatarCache.clear();
         Completable.fromAction(() -> {
             Glide
                     .get(BaseApplication.get())
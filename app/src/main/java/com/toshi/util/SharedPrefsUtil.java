@@ -22,6 +22,7 @@ import android.content.SharedPreferences;
 
 import com.toshi.exception.CurrencyException;
 import com.toshi.model.local.Network;
+import com.toshi.util.logging.NetworkLogging;
 import com.toshi.view.BaseApplication;
 
 public class SharedPrefsUtil {
@@ -35,6 +36,7 @@ public class SharedPrefsUtil {
     private static final String FORCE_USER_UPDATE = "forceUserUpdate_2";
     private static final String CURRENT_NETWORK = "currentNetwork";
     private static final String HAS_CLEARED_NOTIFICATION_CHANNELS = "hasClearedNotificationChannels";
+    private static final String NETWORK_LOG_LEVEL = "networkLogLevel";
 
     public static boolean hasOnboarded() {
         final SharedPreferences prefs = BaseApplication.get().getSharedPreferences(FileNames.USER_PREFS, Context.MODE_PRIVATE);
@@ -151,6 +153,18 @@ public class SharedPrefsUtil {
         return prefs.getBoolean(HAS_CLEARED_NOTIFICATION_CHANNELS, false);
     }
 
+    public static void setNetworkLogLevel(final @NetworkLogging.Level int level) {
+        final SharedPreferences prefs = BaseApplication.get().getSharedPreferences(FileNames.USER_PREFS, Context.MODE_PRIVATE);
+        prefs.edit()
+                .putInt(NETWORK_LOG_LEVEL, level)
+                .apply();
+    }
+
+    public static @NetworkLogging.Level int getNetworkLogLevel(final @NetworkLogging.Level int defaultLevel) {
+        final SharedPreferences prefs = BaseApplication.get().getSharedPreferences(FileNames.USER_PREFS, Context.MODE_PRIVATE);
+        return prefs.getInt(NETWORK_LOG_LEVEL, defaultLevel);
+    }
+
     // INFO: Does not clear all preferences.
     public static void clear() {
         final SharedPreferences prefs = BaseApplication.get().getSharedPreferences(FileNames.USER_PREFS, Context.MODE_PRIVATE);
@@ -0,0 +1,156 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.util;
+
+import android.graphics.Bitmap;
+import android.support.annotation.Nullable;
+
+import com.toshi.R;
+import com.toshi.util.logging.LogUtil;
+import com.toshi.view.BaseApplication;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import rx.Completable;
+import rx.schedulers.Schedulers;
+
+// Chat bubbles never show an image larger than chat_image__max_width, so decoding the full
+// resolution attachment for every bind is wasted work. Thumbnails are generated once, next to
+// the attachments, and the chat renders those while fullscreen viewing keeps the original.
+public class ThumbnailUtil {
+
+    private static final String THUMBNAIL_DIRECTORY = "thumbnails";
+    private static final String THUMBNAIL_SUFFIX = ".thumb";
+    private static final int JPEG_QUALITY = 85;
+
+    private static final Set<String> pendingThumbnails = Collections.synchronizedSet(new HashSet<>());
+    // Thumbnail file name to path, for every thumbnail known to exist. Read on bind so the
+    // UI thread never has to touch the file system.
+    private static final Map<String, String> thumbnailPaths = new ConcurrentHashMap<>();
+    private static final AtomicBoolean hasListedThumbnails = new AtomicBoolean(false);
+
+    private ThumbnailUtil() {}
+
+    public static File getThumbnailFile(final String attachmentPath) {
+        return new File(getThumbnailDirectory(), getThumbnailName(attachmentPath));
+    }
+
+    private static String getThumbnailName(final String attachmentPath) {
+        return new File(attachmentPath).getName() + THUMBNAIL_SUFFIX;
+    }
+
+    // Returns the thumbnail if it is known to exist. Otherwise the original is returned, and the
+    // thumbnail is looked for or generated in the background so the next bind can use it.
+    public static String getDisplayPath(final String attachmentPath) {
+        if (attachmentPath == null) return null;
+        final String thumbnailPath = thumbnailPaths.get(getThumbnailName(attachmentPath));
+        if (thumbnailPath != null) return thumbnailPath;
+        listThumbnailsInBackground();
+        createThumbnailInBackground(attachmentPath);
+        return attachmentPath;
+    }
+
+    // Learns the thumbnails made in earlier sessions with one directory listing
+    private static void listThumbnailsInBackground() {
+        if (!hasListedThumbnails.compareAndSet(false, true)) return;
+        Completable.fromAction(ThumbnailUtil::listThumbnails)
+                .subscribeOn(Schedulers.io())
+                .subscribe(
+                        () -> {},
+                        throwable -> LogUtil.w("Error while listing thumbnails " + throwable)
+                );
+    }
+
+    private static void listThumbnails() {
+        final File[] files = getThumbnailDirectory().listFiles();
+        if (files == null) return;
+        for (final File file : files) {
+            if (file.getName().endsWith(THUMBNAIL_SUFFIX)) thumbnailPaths.put(file.getName(), file.getAbsolutePath());
+        }
+    }
+
+    public static void createThumbnailInBackground(final String attachmentPath) {
+        if (!pendingThumbnails.add(attachmentPath)) return;
+        Completable.fromAction(() -> createThumbnail(attachmentPath))
+                .subscribeOn(Schedulers.io())
+                .doAfterTerminate(() -> pendingThumbnails.remove(attachmentPath))
+                .subscribe(
+                        () -> {},
+                        throwable -> LogUtil.w("Error while creating thumbnail " + throwable)
+                );
+    }
+
+    // Blocking; call from a background thread
+    public static @Nullable File createThumbnail(final String attachmentPath) {
+        if (attachmentPath == null || !ImageUtil.isImageType(attachmentPath)) return null;
+        final File thumbnail = getThumbnailFile(attachmentPath);
+        if (thumbnail.exists()) return onThumbnailCreated(thumbnail);
+
+        final Bitmap bitmap = ImageUtil.decodeSampledBitmap(attachmentPath, getMaxThumbnailSize());
+        if (bitmap == null) return null;
+
+        // Write to a temporary file first so a half written thumbnail is never rendered
+        final File tempFile = new File(thumbnail.getAbsolutePath() + ".tmp");
+        try {
+            writeBitmap(bitmap, tempFile);
+            return tempFile.renameTo(thumbnail) ? onThumbnailCreated(thumbnail) : null;
+        } catch (final IOException e) {
+            LogUtil.exception("Error while writing thumbnail", e);
+            tempFile.delete();
+            return null;
+        } finally {
+            bitmap.recycle();
+        }
+    }
+
+    private static void writeBitmap(final Bitmap bitmap, final File file) throws IOException {
+        final Bitmap.CompressFormat format = bitmap.hasAlpha()
+                ? Bitmap.CompressFormat.PNG
+                : Bitmap.CompressFormat.JPEG;
+        final OutputStream outputStream = new FileOutputStream(file);
+        try {
+            bitmap.compress(format, JPEG_QUALITY, outputStream);
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    private static File onThumbnailCreated(final File thumbnail) {
+        thumbnailPaths.put(thumbnail.getName(), thumbnail.getAbsolutePath());
+        return thumbnail;
+    }
+
+    private static int getMaxThumbnailSize() {
+        return BaseApplication.get().getResources().getDimensionPixelSize(R.dimen.chat_image__max_width);
+    }
+
+    private static File getThumbnailDirectory() {
+        final File directory = new File(BaseApplication.get().getFilesDir(), THUMBNAIL_DIRECTORY);
+        if (!directory.exists()) directory.mkdir();
+        return directory;
+    }
+}
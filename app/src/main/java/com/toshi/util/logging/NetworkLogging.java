@@ -0,0 +1,65 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.util.logging;
+
+
+import android.support.annotation.IntDef;
+
+import com.toshi.BuildConfig;
+import com.toshi.util.SharedPrefsUtil;
+
+// How much of the network traffic is logged, set in the advanced settings. Only debug builds
+// plant a Timber tree that keeps info level logs, so other builds never log traffic and the
+// setting is hidden there.
+public class NetworkLogging {
+
+    @IntDef({
+            OFF,
+            HEADERS,
+            BODY
+    })
+    public @interface Level {}
+    public static final int OFF = 0;
+    public static final int HEADERS = 1;
+    public static final int BODY = 2;
+
+    private static volatile Integer level;
+
+    public static boolean isAvailable() {
+        return BuildConfig.DEBUG;
+    }
+
+    public static @Level int getLevel() {
+        if (!isAvailable()) return OFF;
+        if (level == null) level = SharedPrefsUtil.getNetworkLogLevel(BODY);
+        return level;
+    }
+
+    public static void setLevel(final @Level int newLevel) {
+        level = newLevel;
+        SharedPrefsUtil.setNetworkLogLevel(newLevel);
+    }
+
+    public static @Level int getNextLevel() {
+        switch (getLevel()) {
+            case OFF: return HEADERS;
+            case HEADERS: return BODY;
+            default: return OFF;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.toshi.util.logging;
+
+
+import android.os.SystemClock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Records when each step of a cold start finishes and logs them once, when the app is ready.
+// Each step is logged with the time since start and the time since the previous step.
+public final class StartupTiming {
+
+    private static final List<String> steps = new ArrayList<>();
+    private static final List<Long> times = new ArrayList<>();
+    private static long startedAt;
+    private static boolean isReported = true;
+
+    private StartupTiming() {}
+
+    public static synchronized void start() {
+        steps.clear();
+        times.clear();
+        startedAt = SystemClock.elapsedRealtime();
+        isReported = false;
+    }
+
+    public static synchronized void mark(final String step) {
+        if (isReported) return;
+        steps.add(step);
+        times.add(SystemClock.elapsedRealtime() - startedAt);
+    }
+
+    public static synchronized void report() {
+        if (isReported) return;
+        isReported = true;
+        final StringBuilder sb = new StringBuilder("Startup timing:");
+        long previous = 0;
+        for (int i = 0; i < steps.size(); i++) {
+            final long time = times.get(i);
+            sb.append(String.format(" %s at %dms (+%dms);", steps.get(i), time, time - previous));
+            previous = time;
+        }
+        LogUtil.i(sb.toString());
+    }
+}
@@ -24,10 +24,12 @@ import com.toshi.manager.model.PaymentTask
 import com.toshi.manager.model.ToshiPaymentTask
 import com.toshi.manager.model.W3PaymentTask
 import com.toshi.manager.network.EthereumService
+import com.toshi.manager.transaction.LocalTransactionBuilder
 import com.toshi.model.local.EthAndFiat
 import com.toshi.model.local.UnsignedW3Transaction
 import com.toshi.model.local.User
 import com.toshi.model.network.ExchangeRate
+import com.toshi.model.network.TransactionRequest
 import com.toshi.model.network.UnsignedTransaction
 import com.toshi.model.sofa.payment.ERC20TokenPayment
 import com.toshi.model.sofa.payment.Payment
@@ -35,9 +37,10 @@ import com.toshi.util.EthUtil
 import com.toshi.util.logging.LogUtil
 import com.toshi.view.BaseApplication
 import rx.Single
+import rx.schedulers.Schedulers
 import java.math.BigDecimal
 
-class PaymentTaskBuilder {
+class PaymentTaskBuilder(private val localTransactionBuilder: LocalTransactionBuilder) {
 
     private val balanceManager by lazy { BaseApplication.get().balanceManager }
     private val recipientManager by lazy { BaseApplication.get().recipientManager }
@@ -83,18 +86,39 @@ class PaymentTaskBuilder {
     private fun createUnsignedTransaction(payment: Payment, sendMaxAmount: Boolean): Single<UnsignedTransaction> {
         val transactionRequest = if (sendMaxAmount) transactionBuilder.generateMaxAmountTransactionRequest(payment)
         else transactionBuilder.generateTransactionRequest(payment)
-        return EthereumService
-                .getApi()
-                .createTransaction(transactionRequest)
+        val localTransaction = localTransactionBuilder.buildTransaction(transactionRequest)
+        if (localTransaction != null) {
+            verifyInBackground(transactionRequest, localTransaction)
+            return Single.just(localTransaction)
+        }
+        return createSkeleton(transactionRequest)
                 .doOnError { LogUtil.exception("Error while creating unsigned transaction", it) }
     }
 
     private fun createUnsignedTransaction(payment: ERC20TokenPayment): Single<UnsignedTransaction> {
         val transactionRequest = transactionBuilder.generateTransactionRequest(payment)
+        return createSkeleton(transactionRequest)
+                .doOnError { LogUtil.exception("Error while creating unsigned transaction", it) }
+    }
+
+    private fun createSkeleton(transactionRequest: TransactionRequest): Single<UnsignedTransaction> {
         return EthereumService
                 .getApi()
                 .createTransaction(transactionRequest)
-                .doOnError { LogUtil.exception("Error while creating unsigned transaction", it) }
+                .doOnSuccess { localTransactionBuilder.learnFromSkeleton(transactionRequest, it) }
+    }
+
+    // The payment is already built, so the skeleton is only used to check the local
+    // transaction and to keep the nonce and gas price fresh for the next payment.
+    private fun verifyInBackground(transactionRequest: TransactionRequest, localTransaction: UnsignedTransaction) {
+        EthereumService
+                .getApi()
+                .createTransaction(transactionRequest)
+                .subscribeOn(Schedulers.io())
+                .subscribe(
+                        { localTransactionBuilder.verify(transactionRequest, localTransaction, it) },
+                        { LogUtil.w("Error while verifying local transaction $it") }
+                )
     }
 
     private fun getPaymentInfoAndUser(unsignedTransaction: UnsignedTransaction,
@@ -157,9 +181,7 @@ class PaymentTaskBuilder {
 
     private fun createUnsignedW3Transaction(unsignedW3Transaction: UnsignedW3Transaction): Single<UnsignedTransaction> {
         val transactionRequest = transactionBuilder.generateTransactionRequest(unsignedW3Transaction)
-        return EthereumService
-                .getApi()
-                .createTransaction(transactionRequest)
+        return createSkeleton(transactionRequest)
                 .doOnError { LogUtil.exception("Error while creating unsigned W3 transaction", it) }
     }
 
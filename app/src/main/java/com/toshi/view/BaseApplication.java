@@ -38,6 +38,7 @@ import com.toshi.manager.UserManager;
 import com.toshi.service.NetworkChangeReceiver;
 import com.toshi.util.logging.CrashlyticsTree;
 import com.toshi.util.logging.LogUtil;
+import com.toshi.util.logging.StartupTiming;
 
 import io.fabric.sdk.android.Fabric;
 import io.realm.Realm;
@@ -64,6 +65,7 @@ public final class BaseApplication extends MultiDexApplication implements Lifecy
     public final void onCreate() {
         super.onCreate();
         instance = this;
+        StartupTiming.start();
         init();
     }
 
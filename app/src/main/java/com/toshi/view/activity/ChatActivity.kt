@@ -58,6 +58,7 @@ import com.toshi.util.SoundManager
 import com.toshi.util.keyboard.KeyboardListener
 import com.toshi.util.logging.LogUtil
 import com.toshi.view.BaseApplication
+import com.toshi.view.adapter.ImagePrefetcher
 import com.toshi.view.adapter.MessageAdapter
 import com.toshi.view.custom.SpeedyLinearLayoutManager
 import com.toshi.view.notification.ChatNotificationManager
@@ -102,6 +103,7 @@ class ChatActivity : AppCompatActivity() {
     private lateinit var viewModel: ChatViewModel
     private lateinit var messageAdapter: MessageAdapter
     private lateinit var layoutManager: SpeedyLinearLayoutManager
+    private lateinit var imagePrefetcher: ImagePrefetcher
     private lateinit var keyboardListener: KeyboardListener
 
     override fun onCreate(inState: Bundle?) {
@@ -164,6 +166,8 @@ class ChatActivity : AppCompatActivity() {
         messagesList.adapter = messageAdapter
         messagesList.layoutManager = layoutManager
         messagesList.isScrollContainer = true
+        imagePrefetcher = ImagePrefetcher(messageAdapter)
+        messagesList.addOnScrollListener(imagePrefetcher)
     }
 
     private fun initMessageAdapter(): MessageAdapter {
@@ -577,5 +581,6 @@ class ChatActivity : AppCompatActivity() {
         super.onDestroy()
         keyboardListener.clear()
         messageAdapter.clear()
+        imagePrefetcher.clear()
     }
 }
\ No newline at end of file
@@ -23,10 +23,10 @@ import android.webkit.WebResourceRequest
 import android.webkit.WebView
 import android.webkit.WebViewClient
 import com.toshi.R
+import com.toshi.manager.network.HttpClientProvider
 import com.toshi.util.logging.LogUtil
 import com.toshi.util.webView.WebViewCookieJar
 import com.toshi.view.BaseApplication
-import okhttp3.OkHttpClient
 import okhttp3.Request
 import rx.Single
 import rx.android.schedulers.AndroidSchedulers
@@ -51,7 +51,7 @@ class JellyBeanWebClient(
     private val subscriptions by lazy { CompositeSubscription() }
 
     private val toshiManager by lazy { BaseApplication.get().toshiManager }
-    private val httpClient by lazy { OkHttpClient.Builder().cookieJar(WebViewCookieJar()).build() }
+    private val httpClient by lazy { HttpClientProvider.newBuilder().cookieJar(WebViewCookieJar()).build() }
 
     override fun shouldOverrideUrlLoading(view: WebView?, request: WebResourceRequest?): Boolean {
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
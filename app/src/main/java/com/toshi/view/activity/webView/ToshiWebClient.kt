@@ -25,9 +25,9 @@ import android.webkit.WebResourceResponse
 import android.webkit.WebView
 import android.webkit.WebViewClient
 import com.toshi.R
+import com.toshi.manager.network.HttpClientProvider
 import com.toshi.util.webView.WebViewCookieJar
 import com.toshi.view.BaseApplication
-import okhttp3.OkHttpClient
 import okhttp3.Request
 import okhttp3.Response
 import java.io.BufferedReader
@@ -45,7 +45,7 @@ class ToshiWebClient(
 ) : WebViewClient() {
 
     private val toshiManager by lazy { BaseApplication.get().toshiManager }
-    private val httpClient by lazy { OkHttpClient.Builder().cookieJar(WebViewCookieJar()).build() }
+    private val httpClient by lazy { HttpClientProvider.newBuilder().cookieJar(WebViewCookieJar()).build() }
 
     override fun shouldOverrideUrlLoading(view: WebView?, request: WebResourceRequest?): Boolean {
         if (request == null || view == null) return false
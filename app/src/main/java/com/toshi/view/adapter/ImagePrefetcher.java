@@ -0,0 +1,138 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.view.adapter;
+
+import android.content.Context;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.request.target.Target;
+import com.toshi.util.ImageUtil;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// Warms the image caches for the items about to scroll into view. The number of items
+// looked ahead grows with the scroll speed, and requests for items that have scrolled
+// out of the look-ahead window are cancelled.
+public class ImagePrefetcher extends RecyclerView.OnScrollListener {
+
+    public interface Source {
+        List<Request> getPrefetchRequests(Context context, int position);
+    }
+
+    public static abstract class Request {
+        private final String key;
+
+        private Request(final String key) {
+            this.key = key;
+        }
+
+        /* package */ abstract Target start(final Context context);
+
+        public static Request avatar(final String url, final int size) {
+            return new Request("avatar:" + url + ":" + size) {
+                @Override
+                Target start(final Context context) {
+                    return ImageUtil.prefetchAvatar(context, url, size);
+                }
+            };
+        }
+
+        public static Request file(final String path, final int width, final int height) {
+            return new Request("file:" + path + ":" + width + "x" + height) {
+                @Override
+                Target start(final Context context) {
+                    return ImageUtil.prefetchFile(context, new File(path), width, height);
+                }
+            };
+        }
+    }
+
+    private static final int MIN_ITEMS_AHEAD = 4;
+    private static final int MAX_ITEMS_AHEAD = 12;
+    // Scrolled pixels per frame that add one more item to the look-ahead
+    private static final int PIXELS_PER_EXTRA_ITEM = 40;
+
+    private final Source source;
+    private final Map<String, Target> activeRequests = new HashMap<>();
+    private final Map<String, Integer> requestPositions = new HashMap<>();
+
+    public ImagePrefetcher(final Source source) {
+        this.source = source;
+    }
+
+    @Override
+    public void onScrolled(final RecyclerView recyclerView, final int dx, final int dy) {
+        if (dy == 0 || !(recyclerView.getLayoutManager() instanceof LinearLayoutManager)) return;
+
+        final LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+        final int firstVisible = layoutManager.findFirstVisibleItemPosition();
+        final int lastVisible = layoutManager.findLastVisibleItemPosition();
+        if (firstVisible == RecyclerView.NO_POSITION || lastVisible == RecyclerView.NO_POSITION) return;
+
+        final int itemsAhead = Math.min(MAX_ITEMS_AHEAD, MIN_ITEMS_AHEAD + Math.abs(dy) / PIXELS_PER_EXTRA_ITEM);
+        final boolean towardsEnd = (dy > 0) != layoutManager.getReverseLayout();
+        final int itemCount = recyclerView.getAdapter() != null ? recyclerView.getAdapter().getItemCount() : 0;
+        final int start = towardsEnd ? lastVisible + 1 : Math.max(0, firstVisible - itemsAhead);
+        final int end = towardsEnd ? Math.min(itemCount - 1, lastVisible + itemsAhead) : firstVisible - 1;
+
+        cancelOutside(start, end);
+        for (int position = start; position <= end; position++) {
+            prefetch(recyclerView.getContext(), position);
+        }
+    }
+
+    private void prefetch(final Context context, final int position) {
+        for (final Request request : this.source.getPrefetchRequests(context, position)) {
+            if (this.activeRequests.containsKey(request.key)) continue;
+            try {
+                this.activeRequests.put(request.key, request.start(context));
+                this.requestPositions.put(request.key, position);
+            } catch (final IllegalArgumentException ex) {
+                // The context has been destroyed
+                return;
+            }
+        }
+    }
+
+    // Glide shares a load between requests, so a view that has bound the same image keeps it going
+    private void cancelOutside(final int start, final int end) {
+        final Iterator<Map.Entry<String, Integer>> iterator = this.requestPositions.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, Integer> entry = iterator.next();
+            final int position = entry.getValue();
+            if (position >= start && position <= end) continue;
+            iterator.remove();
+            Glide.clear(this.activeRequests.remove(entry.getKey()));
+        }
+    }
+
+    public void clear() {
+        for (final Target target : new ArrayList<>(this.activeRequests.values())) {
+            Glide.clear(target);
+        }
+        this.activeRequests.clear();
+        this.requestPositions.clear();
+    }
+}
@@ -17,6 +17,7 @@
 
 package com.toshi.view.adapter;
 
+import android.content.Context;
 import android.support.annotation.Nullable;
 import android.support.v7.widget.RecyclerView;
 import android.view.LayoutInflater;
@@ -34,6 +35,7 @@ import com.toshi.model.sofa.PaymentRequest;
 import com.toshi.model.sofa.SofaAdapters;
 import com.toshi.model.sofa.SofaMessage;
 import com.toshi.model.sofa.SofaType;
+import com.toshi.util.ThumbnailUtil;
 import com.toshi.util.logging.LogUtil;
 import com.toshi.view.BaseApplication;
 import com.toshi.view.adapter.listeners.OnItemClickListener;
@@ -56,7 +58,7 @@ import static com.toshi.model.local.ChainPosition.MIDDLE;
 import static com.toshi.model.local.ChainPosition.NONE;
 
 
-public final class MessageAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+public final class MessageAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> implements ImagePrefetcher.Source {
 
     private final static int SENDER_MASK = 0x1000;
 
@@ -381,6 +383,28 @@ public final class MessageAdapter extends RecyclerView.Adapter<RecyclerView.View
         }
     }
 
+    @Override
+    public List<ImagePrefetcher.Request> getPrefetchRequests(final Context context, final int position) {
+        final List<ImagePrefetcher.Request> requests = new ArrayList<>(2);
+        if (position < 0 || position >= this.sofaMessages.size()) return requests;
+
+        final SofaMessage sofaMessage = this.sofaMessages.get(position);
+        final String avatarUrl = sofaMessage.getSenderAvatar();
+        if (avatarUrl != null) {
+            final int avatarSize = context.getResources().getDimensionPixelSize(R.dimen.chat_avatar_size);
+            requests.add(ImagePrefetcher.Request.avatar(avatarUrl, avatarSize));
+        }
+
+        final String attachmentFilePath = sofaMessage.getAttachmentFilePath();
+        final boolean isImage = sofaMessage.hasAttachment() && sofaMessage.getAttachmentType() == SofaType.IMAGE;
+        if (isImage && attachmentFilePath != null) {
+            final int maxWidth = context.getResources().getDimensionPixelSize(R.dimen.chat_image__max_width);
+            final int height = context.getResources().getDimensionPixelSize(R.dimen.chat_image__height);
+            requests.add(ImagePrefetcher.Request.file(ThumbnailUtil.getDisplayPath(attachmentFilePath), maxWidth, height));
+        }
+        return requests;
+    }
+
     @Override
     public final int getItemCount() {
         return this.sofaMessages.size();
@@ -18,6 +18,7 @@
 package com.toshi.view.adapter;
 
 
+import android.content.Context;
 import android.support.annotation.NonNull;
 import android.support.design.widget.Snackbar;
 import android.support.v4.content.ContextCompat;
@@ -33,6 +34,7 @@ import com.toshi.model.local.ConversationDividerItem;
 import com.toshi.model.local.ConversationItem;
 import com.toshi.model.local.ConversationRequestsItem;
 import com.toshi.model.local.LocalStatusMessage;
+import com.toshi.model.local.Recipient;
 import com.toshi.model.local.User;
 import com.toshi.model.sofa.Message;
 import com.toshi.model.sofa.payment.Payment;
@@ -56,7 +58,7 @@ import static com.toshi.model.local.ConversationItemType.CONVERSATION;
 import static com.toshi.model.local.ConversationItemType.DIVIDER;
 import static com.toshi.model.local.ConversationItemType.REQUESTS;
 
-public class RecentAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+public class RecentAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> implements ImagePrefetcher.Source {
 
     private static final int REQUESTS_POSITION = 0;
     private static final int DIVIDER_POSITION = 1;
@@ -306,6 +308,22 @@ public class RecentAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
         return this.unacceptedConversations.isEmpty();
     }
 
+    @Override
+    public List<ImagePrefetcher.Request> getPrefetchRequests(final Context context, final int position) {
+        final List<ImagePrefetcher.Request> requests = new ArrayList<>(1);
+        if (position < 0 || position >= this.conversations.size()) return requests;
+
+        final ConversationItem conversationItem = this.conversations.get(position);
+        if (!(conversationItem instanceof Conversation)) return requests;
+
+        final Recipient recipient = ((Conversation) conversationItem).getRecipient();
+        if (recipient == null || recipient.isGroup() || recipient.getUserAvatar() == null) return requests;
+
+        final int avatarSize = context.getResources().getDimensionPixelSize(R.dimen.avatar_size_small);
+        requests.add(ImagePrefetcher.Request.avatar(recipient.getUserAvatar(), avatarSize));
+        return requests;
+    }
+
     @Override
     public int getItemCount() {
         return this.conversations.size();
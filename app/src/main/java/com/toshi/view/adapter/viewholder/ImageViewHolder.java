@@ -31,6 +31,7 @@ import com.toshi.model.local.SendState;
 import com.toshi.model.network.SofaError;
 import com.toshi.model.sofa.SofaMessage;
 import com.toshi.util.ImageUtil;
+import com.toshi.util.ThumbnailUtil;
 import com.toshi.view.adapter.listeners.OnItemClickListener;
 
 import java.io.File;
@@ -105,8 +106,10 @@ public final class ImageViewHolder extends RecyclerView.ViewHolder {
 
     private void showImage() {
         resetImage();
-        final File imageFile = new File(this.attachmentFilePath);
-        ImageUtil.renderFileIntoTarget(imageFile, this.image);
+        final File imageFile = new File(ThumbnailUtil.getDisplayPath(this.attachmentFilePath));
+        final int maxWidth = this.itemView.getResources().getDimensionPixelSize(R.dimen.chat_image__max_width);
+        final int height = this.itemView.getResources().getDimensionPixelSize(R.dimen.chat_image__height);
+        ImageUtil.renderFileIntoTarget(imageFile, this.image, maxWidth, height);
         this.attachmentFilePath = null;
     }
 
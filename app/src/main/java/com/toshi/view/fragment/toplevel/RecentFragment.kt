@@ -38,6 +38,7 @@ import com.toshi.model.local.ConversationInfo
 import com.toshi.view.activity.ChatActivity
 import com.toshi.view.activity.ConversationRequestActivity
 import com.toshi.view.activity.ConversationSetupActivity
+import com.toshi.view.adapter.ImagePrefetcher
 import com.toshi.view.adapter.RecentAdapter
 import com.toshi.view.adapter.listeners.OnItemClickListener
 import com.toshi.view.adapter.listeners.OnUpdateListener
@@ -62,6 +63,7 @@ class RecentFragment : TopLevelFragment() {
 
     private lateinit var viewModel: RecentViewModel
     private lateinit var recentAdapter: RecentAdapter
+    private lateinit var imagePrefetcher: ImagePrefetcher
     private var scrollPosition = 0
 
     override fun onCreateView(inflater: LayoutInflater, container: ViewGroup?, savedInstanceState: Bundle?): View? {
@@ -119,6 +121,8 @@ class RecentFragment : TopLevelFragment() {
             itemAnimator = DefaultItemAnimator()
             adapter = recentAdapter
         }
+        imagePrefetcher = ImagePrefetcher(recentAdapter)
+        recents.addOnScrollListener(imagePrefetcher)
 
         addSwipeToDeleteListener(recents)
         recents.scrollToPosition(scrollPosition)
@@ -234,4 +238,9 @@ class RecentFragment : TopLevelFragment() {
         super.onStop()
         recentAdapter.doDelete()
     }
+
+    override fun onDestroyView() {
+        super.onDestroyView()
+        imagePrefetcher.clear()
+    }
 }
\ No newline at end of file
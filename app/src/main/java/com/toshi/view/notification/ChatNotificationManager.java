@@ -44,7 +44,9 @@ import com.toshi.view.notification.model.ChatNotification;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import rx.Completable;
 import rx.Single;
 import rx.android.schedulers.AndroidSchedulers;
 import rx.schedulers.Schedulers;
@@ -52,9 +54,13 @@ import rx.schedulers.Schedulers;
 public class ChatNotificationManager extends ToshiNotificationBuilder {
 
     public static final String KEY_TEXT_REPLY = "key_text_reply";
+    private static final long MIN_RENDER_INTERVAL_MS = 1000;
 
     private static String currentlyOpenConversation;
     private static final Map<String, ChatNotification> activeNotifications = new HashMap<>();
+    // Render throttling per conversation; guarded by the class lock.
+    private static final Map<String, Long> lastRenderTimes = new HashMap<>();
+    private static final Map<ChatNotification, String> pendingRenders = new HashMap<>();
 
     public static void suppressNotificationsForConversation(final String conversationId) {
         currentlyOpenConversation = conversationId;
@@ -67,8 +73,9 @@ public class ChatNotificationManager extends ToshiNotificationBuilder {
         handleNotificationDismissed(conversationId);
     }
 
-    public static void handleNotificationDismissed(final String notificationTag) {
+    public static synchronized void handleNotificationDismissed(final String notificationTag) {
         activeNotifications.remove(notificationTag);
+        lastRenderTimes.remove(notificationTag);
     }
 
     public static void stopNotificationSuppression(final String conversationId) {
@@ -223,12 +230,41 @@ public class ChatNotificationManager extends ToshiNotificationBuilder {
         generateIconAndShowNotification(activeChatNotification, sofaMessage.getPrivateKey());
     }
 
-    private static void generateIconAndShowNotification(final ChatNotification activeChatNotification, final String messageId) {
-        activeChatNotification
-                .generateLargeIcon()
-                .subscribeOn(Schedulers.io())
+    private static synchronized void generateIconAndShowNotification(final ChatNotification activeChatNotification, final String messageId) {
+        final String tag = activeChatNotification.getTag();
+        final boolean isRenderScheduled = pendingRenders.containsKey(activeChatNotification);
+        pendingRenders.put(activeChatNotification, messageId);
+        if (isRenderScheduled) return;
+
+        final Long lastRenderTime = lastRenderTimes.get(tag);
+        final long timeSinceLastRender = lastRenderTime == null
+                ? MIN_RENDER_INTERVAL_MS
+                : System.currentTimeMillis() - lastRenderTime;
+        final long delay = Math.max(MIN_RENDER_INTERVAL_MS - timeSinceLastRender, 0);
+
+        // Messages arriving while a render is pending are added to the notification
+        // and picked up by that render, so a burst results in a handful of updates.
+        Completable.timer(delay, TimeUnit.MILLISECONDS, AndroidSchedulers.mainThread())
+                .observeOn(Schedulers.io())
+                .andThen(activeChatNotification.generateLargeIcon())
                 .observeOn(AndroidSchedulers.mainThread())
-                .subscribe(() -> showNotification(activeChatNotification, getChatNotificationBuilder(messageId, activeChatNotification)));
+                .subscribe(
+                        () -> renderNotification(activeChatNotification),
+                        throwable -> handleRenderError(activeChatNotification, throwable)
+                );
+    }
+
+    private static synchronized void renderNotification(final ChatNotification activeChatNotification) {
+        final String tag = activeChatNotification.getTag();
+        final String messageId = pendingRenders.remove(activeChatNotification);
+        if (activeNotifications.get(tag) != activeChatNotification) return; // Dismissed while the render was pending
+        lastRenderTimes.put(tag, System.currentTimeMillis());
+        showNotification(activeChatNotification, getChatNotificationBuilder(messageId, activeChatNotification));
+    }
+
+    private static synchronized void handleRenderError(final ChatNotification activeChatNotification, final Throwable throwable) {
+        pendingRenders.remove(activeChatNotification);
+        LogUtil.w("Error while showing notification " + throwable);
     }
 
     private static ChatNotification getAndCacheChatNotification(final Recipient sender) {
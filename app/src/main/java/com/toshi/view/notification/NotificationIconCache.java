@@ -0,0 +1,69 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.view.notification;
+
+import android.graphics.Bitmap;
+import android.support.annotation.NonNull;
+import android.support.v4.util.LruCache;
+
+import com.toshi.model.local.Avatar;
+import com.toshi.model.local.Recipient;
+import com.toshi.util.ImageUtil;
+
+import java.util.concurrent.ExecutionException;
+
+// Keeps circle-cropped notification icons around so that repeated notifications
+// for the same recipient don't decode and transform the avatar again.
+// Entries are keyed by recipient and avatar version, so a changed avatar is a cache miss.
+public class NotificationIconCache {
+
+    private static final int MAX_SIZE_IN_BYTES = 2 * 1024 * 1024;
+
+    private static final LruCache<String, Bitmap> cache = new LruCache<String, Bitmap>(MAX_SIZE_IN_BYTES) {
+        @Override
+        protected int sizeOf(final String key, final Bitmap bitmap) {
+            return bitmap.getRowBytes() * bitmap.getHeight();
+        }
+    };
+
+    public static Bitmap get(@NonNull final Recipient recipient) throws ExecutionException, InterruptedException {
+        final String key = buildKey(recipient);
+        final Bitmap cachedIcon = cache.get(key);
+        if (cachedIcon != null) return cachedIcon;
+
+        final Bitmap icon = ImageUtil.loadNotificationIcon(recipient);
+        if (icon != null) cache.put(key, icon);
+        return icon;
+    }
+
+    private static String buildKey(final Recipient recipient) {
+        return recipient.getThreadId() + ":" + getAvatarVersion(recipient);
+    }
+
+    private static String getAvatarVersion(final Recipient recipient) {
+        if (recipient.isUser()) return recipient.getUserAvatar();
+        final Avatar avatar = recipient.getGroupAvatar();
+        return avatar == null || !avatar.hasImage()
+                ? ""
+                : avatar.getHash();
+    }
+
+    public static void clear() {
+        cache.evictAll();
+    }
+}
@@ -27,12 +27,12 @@ import com.toshi.model.local.Recipient;
 import com.toshi.presenter.chat.DirectReplyService;
 import com.toshi.service.NotificationDismissedReceiver;
 import com.toshi.service.RejectPaymentRequestService;
-import com.toshi.util.ImageUtil;
 import com.toshi.util.PaymentType;
 import com.toshi.view.BaseApplication;
 import com.toshi.view.activity.ChatActivity;
 import com.toshi.view.activity.MainActivity;
 import com.toshi.view.activity.SplashActivity;
+import com.toshi.view.notification.NotificationIconCache;
 
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
@@ -189,7 +189,7 @@ public class ChatNotification extends ToshiNotification {
     }
 
     private void fetchRecipientAvatar() throws InterruptedException, ExecutionException {
-        this.largeIcon = ImageUtil.loadNotificationIcon(this.sender);
+        this.largeIcon = NotificationIconCache.get(this.sender);
     }
 
     private boolean hasAvatar() {
@@ -26,7 +26,7 @@ import com.toshi.model.network.token.ERCToken
 import com.toshi.util.EthUtil
 import com.toshi.util.logging.LogUtil
 import com.toshi.view.BaseApplication
-import rx.Single
+import rx.Observable
 import rx.android.schedulers.AndroidSchedulers
 import rx.schedulers.Schedulers
 import rx.subscriptions.CompositeSubscription
@@ -49,7 +49,7 @@ class SendERC20TokenViewModel(val token: ERCToken) : ViewModel() {
         val sub = transactionManager
                 .listenForNewIncomingTokenPayments()
                 .filter { it.contractAddress == token.contractAddress }
-                .flatMap { getERC20Token(it.contractAddress).toObservable() }
+                .flatMap { getERC20Token(it.contractAddress) }
                 .subscribeOn(Schedulers.io())
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe(
@@ -60,7 +60,7 @@ class SendERC20TokenViewModel(val token: ERCToken) : ViewModel() {
         subscriptions.add(sub)
     }
 
-    private fun getERC20Token(contractAddress: String): Single<ERCToken> {
+    private fun getERC20Token(contractAddress: String): Observable<ERCToken> {
         return balanceManager.getERC20Token(contractAddress)
     }
 
@@ -67,7 +67,7 @@ class SendEtherViewModel : ViewModel() {
 
     private fun getExchangeRate() {
         val sub = balanceManager
-                .getLocalCurrencyExchangeRate()
+                .getLocalCurrencyExchangeRateObservable()
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe(
                         { exchangeRate = it },
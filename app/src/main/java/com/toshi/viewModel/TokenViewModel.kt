@@ -29,6 +29,7 @@ import com.toshi.util.EthUtil
 import com.toshi.util.SingleLiveEvent
 import com.toshi.util.logging.LogUtil
 import com.toshi.view.BaseApplication
+import rx.Observable
 import rx.Single
 import rx.android.schedulers.AndroidSchedulers
 import rx.schedulers.Schedulers
@@ -61,7 +62,7 @@ class TokenViewModel : ViewModel() {
                 .filter { it != null }
                 .flatMap { it.getBalanceWithLocalBalance().toObservable() }
                 .map { mapBalance(it) }
-                .flatMap { fetchERC20TokensAndAddEther(it).toObservable() }
+                .switchMap { fetchERC20TokensAndAddEther(it) }
                 .subscribeOn(Schedulers.io())
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe(
@@ -75,7 +76,7 @@ class TokenViewModel : ViewModel() {
     private fun listenForNewIncomingTokenPayments() {
         val sub = transactionManager
                 .listenForNewIncomingTokenPayments()
-                .flatMap { fetchERC20TokensAndAddEther().toObservable() }
+                .switchMap { fetchERC20TokensAndAddEther() }
                 .subscribeOn(Schedulers.io())
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe(
@@ -90,6 +91,7 @@ class TokenViewModel : ViewModel() {
         val sub = fetchERC20TokensAndAddEther()
                 .observeOn(AndroidSchedulers.mainThread())
                 .doOnSubscribe { isERC20Loading.value = true }
+                .doOnNext { isERC20Loading.value = false }
                 .doAfterTerminate { isERC20Loading.value = false }
                 .subscribe(
                         { erc20Tokens.value = it },
@@ -110,22 +112,23 @@ class TokenViewModel : ViewModel() {
         subscriptions.add(sub)
     }
 
-    private fun fetchERC20TokensAndAddEther(): Single<List<Token>> {
-        return Single.zip(
+    // The cached tokens are emitted first, followed by the network response if it has changed
+    private fun fetchERC20TokensAndAddEther(): Observable<List<Token>> {
+        return Observable.combineLatest(
                 getERC20Tokens(),
-                createEtherToken(),
+                createEtherToken().toObservable(),
                 { tokens, etherToken -> Pair(tokens.tokens, etherToken) }
         )
         .map { addEtherTokenToTokenList(it.first, it.second) }
     }
 
-    private fun fetchERC20TokensAndAddEther(etherToken: EtherToken): Single<List<Token>> {
+    private fun fetchERC20TokensAndAddEther(etherToken: EtherToken): Observable<List<Token>> {
         return getERC20Tokens()
                 .map { Pair(it.tokens, etherToken) }
                 .map { addEtherTokenToTokenList(it.first, it.second) }
     }
 
-    private fun getERC20Tokens(): Single<ERC20Tokens> {
+    private fun getERC20Tokens(): Observable<ERC20Tokens> {
         return balanceManager
                 .getERC20Tokens()
                 .onErrorReturn { ERC20Tokens() }
@@ -156,6 +159,7 @@ class TokenViewModel : ViewModel() {
                 .getERC721Tokens()
                 .observeOn(AndroidSchedulers.mainThread())
                 .doOnSubscribe { isERC721Loading.value = true }
+                .doOnNext { isERC721Loading.value = false }
                 .doAfterTerminate { isERC721Loading.value = false }
                 .subscribe(
                         { erc721Tokens.value = it.collectibles },
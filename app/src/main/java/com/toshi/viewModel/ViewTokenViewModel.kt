@@ -23,7 +23,7 @@ import com.toshi.model.network.token.ERCToken
 import com.toshi.model.network.token.Token
 import com.toshi.util.logging.LogUtil
 import com.toshi.view.BaseApplication
-import rx.Single
+import rx.Observable
 import rx.android.schedulers.AndroidSchedulers
 import rx.schedulers.Schedulers
 import rx.subscriptions.CompositeSubscription
@@ -44,7 +44,7 @@ class ViewTokenViewModel(token: Token) : ViewModel() {
         val sub = transactionManager
                 .listenForNewIncomingTokenPayments()
                 .filter { it.contractAddress == ERCToken.contractAddress }
-                .flatMap { getERC20Token(it.contractAddress).toObservable() }
+                .flatMap { getERC20Token(it.contractAddress) }
                 .subscribeOn(Schedulers.io())
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe(
@@ -55,7 +55,7 @@ class ViewTokenViewModel(token: Token) : ViewModel() {
         subscriptions.add(sub)
     }
 
-    private fun getERC20Token(contractAddress: String): Single<ERCToken> {
+    private fun getERC20Token(contractAddress: String): Observable<ERCToken> {
         return balanceManager.getERC20Token(contractAddress)
     }
 
@@ -0,0 +1,60 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.toshi.crypto;
+
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class DerivedKeyCacheTest {
+
+    private static final String SEED_HASH = "c5d2460186f7233c927e7db2dcc703c0e500b653ca82273b7bfad8045d85a470";
+
+    @Test
+    public void formattedKeysAreParsedBack() {
+        final Map<String, byte[]> keys = new LinkedHashMap<>();
+        keys.put("identity", new byte[] {1, 2, 3});
+        keys.put("payment", new byte[] {(byte) 0xff, 0});
+
+        final Map<String, byte[]> parsed = DerivedKeyCache.parse(DerivedKeyCache.format(keys, SEED_HASH), SEED_HASH);
+
+        assertThat(parsed.size(), is(2));
+        assertThat(parsed.get("identity"), is(keys.get("identity")));
+        assertThat(parsed.get("payment"), is(keys.get("payment")));
+    }
+
+    @Test
+    public void keysForAnotherSeedAreIgnored() {
+        final Map<String, byte[]> keys = new LinkedHashMap<>();
+        keys.put("identity", new byte[] {1, 2, 3});
+
+        final String formatted = DerivedKeyCache.format(keys, SEED_HASH);
+
+        assertThat(DerivedKeyCache.parse(formatted, "00"), is(nullValue()));
+    }
+
+    @Test
+    public void unknownFormatIsIgnored() {
+        assertThat(DerivedKeyCache.parse("abandon abandon about", SEED_HASH), is(nullValue()));
+    }
+}
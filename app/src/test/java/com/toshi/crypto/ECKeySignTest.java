@@ -0,0 +1,92 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.crypto;
+
+
+import org.junit.Test;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class ECKeySignTest {
+
+    private static final int ITERATIONS = 200;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Test
+    public void signProducesSameRAndSAsDoSign() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            final ECKey key = new ECKey(this.random);
+            final byte[] messageHash = randomHash();
+            final ECKey.ECDSASignature expected = key.doSign(messageHash);
+            final ECKey.ECDSASignature actual = key.sign(messageHash);
+            assertThat(actual.r, is(expected.r));
+            assertThat(actual.s, is(expected.s));
+        }
+    }
+
+    @Test
+    public void signProducesCanonicalS() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            final ECKey.ECDSASignature signature = new ECKey(this.random).sign(randomHash());
+            assertThat(signature.s.compareTo(ECKey.HALF_CURVE_ORDER), is(lessThanOrEqualTo(0)));
+        }
+    }
+
+    @Test
+    public void recIdMatchesRecoveryLoop() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            final ECKey key = new ECKey(this.random);
+            final byte[] messageHash = randomHash();
+            final ECKey.ECDSASignature signature = key.sign(messageHash);
+            assertThat(signature.v - 27, is(findRecIdByRecovery(key, signature, messageHash)));
+        }
+    }
+
+    @Test
+    public void signatureRecoversSigningAddress() {
+        final ECKey key = new ECKey(this.random);
+        final byte[] messageHash = randomHash();
+        final ECKey.ECDSASignature signature = key.sign(messageHash);
+        final byte[] recovered = ECKey.recoverAddressFromSignature(signature.v - 27, signature, messageHash);
+        assertThat(Arrays.equals(recovered, key.getAddress()), is(true));
+    }
+
+    // The original way of finding the recId; try each candidate until the recovered key matches
+    private static int findRecIdByRecovery(final ECKey key,
+                                           final ECKey.ECDSASignature signature,
+                                           final byte[] messageHash) {
+        final byte[] expectedKey = key.getPubKey();
+        for (int recId = 0; recId < 4; recId++) {
+            final byte[] recoveredKey = ECKey.recoverPubBytesFromSignature(recId, signature, messageHash);
+            if (recoveredKey != null && Arrays.equals(recoveredKey, expectedKey)) return recId;
+        }
+        return -1;
+    }
+
+    private byte[] randomHash() {
+        final byte[] hash = new byte[32];
+        this.random.nextBytes(hash);
+        return hash;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.crypto;
+
+
+import org.junit.Test;
+import org.spongycastle.math.ec.ECPoint;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class FixedBaseMultiplierTest {
+
+    private static final ECPoint G = ECKey.CURVE.getG();
+    private static final BigInteger N = ECKey.CURVE.getN();
+
+    private final FixedBaseMultiplier multiplier = new FixedBaseMultiplier(G, N.bitLength());
+    private final SecureRandom random = new SecureRandom();
+
+    @Test
+    public void randomScalarsMatchGenericMultiplier() {
+        for (int i = 0; i < 500; i++) {
+            final BigInteger k = new BigInteger(256, this.random);
+            assertThat(this.multiplier.multiply(k).normalize(), is(G.multiply(k).normalize()));
+        }
+    }
+
+    @Test
+    public void edgeCaseScalarsMatchGenericMultiplier() {
+        final BigInteger[] scalars = {
+                BigInteger.ONE,
+                BigInteger.valueOf(15),
+                BigInteger.valueOf(16),
+                BigInteger.ONE.shiftLeft(255),
+                N.subtract(BigInteger.ONE),
+                BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE)
+        };
+        for (final BigInteger k : scalars) {
+            assertThat(this.multiplier.multiply(k).normalize(), is(G.multiply(k).normalize()));
+        }
+    }
+
+    @Test
+    public void zeroAndOrderGiveInfinity() {
+        assertThat(this.multiplier.multiply(BigInteger.ZERO).isInfinity(), is(true));
+        assertThat(this.multiplier.multiply(N).isInfinity(), is(true));
+    }
+
+    @Test
+    public void scalarsWiderThanTheTableFallBack() {
+        final BigInteger k = BigInteger.ONE.shiftLeft(300).add(BigInteger.TEN);
+        assertThat(this.multiplier.multiply(k).normalize(), is(G.multiply(k).normalize()));
+    }
+
+    @Test
+    public void otherPointsUseGenericMultiplier() {
+        final ECPoint point = G.multiply(BigInteger.valueOf(7)).normalize();
+        final BigInteger k = new BigInteger(256, this.random);
+        assertThat(this.multiplier.multiply(point, k).normalize(), is(point.multiply(k).normalize()));
+    }
+
+    @Test
+    public void publicKeyFromPrivateMatchesGenericMultiplier() {
+        for (int i = 0; i < 50; i++) {
+            final BigInteger priv = new BigInteger(256, this.random).mod(N);
+            final byte[] expected = G.multiply(priv).getEncoded(false);
+            assertThat(ECKey.publicKeyFromPrivate(priv, false), is(expected));
+            assertThat(ECKey.fromPrivate(priv).getPubKey(), is(expected));
+        }
+    }
+}
@@ -36,6 +36,10 @@ public class HDWalletTest {
     // Path `m/44'/60'/0'/0'
     private final String expectedPaymentAddress = "0x9858effd232b4033e47d90003d41ec34ecaeda94";
 
+    // Path `m/44'/60'/0'/0/1` and `m/44'/60'/0'/0/2`
+    private final String expectedSecondPaymentAddress = "0x6fac4d18c912343bf86fa7049364dd4e424ab9c0";
+    private final String expectedThirdPaymentAddress = "0xb6716976a3ebe8d39aceb04372f22ff8e6802d7a";
+
     // Mocks
     private SharedPreferences sharedPreferencesMock;
 
@@ -76,4 +80,37 @@ public class HDWalletTest {
                         .value();
         assertThat(wallet.getPaymentAddress(), is(this.expectedPaymentAddress));
     }
+
+    @Test
+    public void paymentAddressZeroIsDefaultPaymentAddress() {
+        final HDWallet wallet =
+                new HDWallet(this.sharedPreferencesMock)
+                        .getExistingWallet()
+                        .toBlocking()
+                        .value();
+        assertThat(wallet.getPaymentAddress(0), is(this.expectedPaymentAddress));
+    }
+
+    @Test
+    public void walletDerivesIndexedPaymentAddresses() {
+        final HDWallet wallet =
+                new HDWallet(this.sharedPreferencesMock)
+                        .getExistingWallet()
+                        .toBlocking()
+                        .value();
+        assertThat(wallet.getPaymentAddress(2), is(this.expectedThirdPaymentAddress));
+        assertThat(wallet.getPaymentAddress(1), is(this.expectedSecondPaymentAddress));
+        assertThat(wallet.getPaymentAddress(2), is(this.expectedThirdPaymentAddress));
+    }
+
+    @Test
+    public void signTransactionWithIndexZeroUsesDefaultPaymentKey() {
+        final HDWallet wallet =
+                new HDWallet(this.sharedPreferencesMock)
+                        .getExistingWallet()
+                        .toBlocking()
+                        .value();
+        final String transaction = "0xec098504a817c800825208943535353535353535353535353535353535353535880de0b6b3a764000080018080";
+        assertThat(wallet.signTransaction(0, transaction), is(wallet.signTransaction(transaction)));
+    }
 }
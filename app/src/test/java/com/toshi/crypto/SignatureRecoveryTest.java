@@ -0,0 +1,98 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.toshi.crypto;
+
+
+import com.toshi.crypto.util.HashUtil;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.security.SignatureException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class SignatureRecoveryTest {
+
+    // Enough signatures to be split across several chunks
+    private static final int COUNT = 100;
+
+    @Test
+    public void recoveredAddressesMatchSignersInOrder() throws SignatureException {
+        final byte[][] hashes = new byte[COUNT][];
+        final ECKey.ECDSASignature[] signatures = new ECKey.ECDSASignature[COUNT];
+        final ECKey[] keys = new ECKey[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            keys[i] = ECKey.fromPrivate(BigInteger.valueOf(i + 1));
+            hashes[i] = HashUtil.sha3(new byte[] {(byte) i});
+            signatures[i] = keys[i].sign(hashes[i]);
+        }
+
+        final byte[][] addresses = SignatureRecovery.recoverAddresses(hashes, signatures);
+
+        assertThat(addresses.length, is(COUNT));
+        for (int i = 0; i < COUNT; i++) {
+            assertThat(addresses[i], is(keys[i].getAddress()));
+            assertThat(addresses[i], is(ECKey.signatureToAddress(hashes[i], signatures[i])));
+        }
+    }
+
+    @Test
+    public void invalidSignatureRecoversNull() {
+        final ECKey key = ECKey.fromPrivate(BigInteger.TEN);
+        final byte[] hash = HashUtil.sha3(new byte[] {1});
+        final ECKey.ECDSASignature valid = key.sign(hash);
+        final ECKey.ECDSASignature invalidV = new ECKey.ECDSASignature(valid.r, valid.s);
+        invalidV.v = 40;
+
+        final byte[][] addresses = SignatureRecovery.recoverAddresses(
+                new byte[][] {hash, hash, hash},
+                new ECKey.ECDSASignature[] {valid, invalidV, null});
+
+        assertThat(addresses[0], is(key.getAddress()));
+        assertThat(addresses[1], is(nullValue()));
+        assertThat(addresses[2], is(nullValue()));
+    }
+
+    @Test
+    public void personalMessageAddressesMatchSigners() {
+        final Charset utf8 = Charset.forName("UTF-8");
+        final byte[][] messages = new byte[COUNT][];
+        final String[] signatures = new String[COUNT];
+        final ECKey[] keys = new ECKey[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            keys[i] = ECKey.fromPrivate(BigInteger.valueOf(1000 + i));
+            messages[i] = ("message " + i).getBytes(utf8);
+            final byte[] prefixed = ("\u0019Ethereum Signed Message:\n" + messages[i].length + "message " + i).getBytes(utf8);
+            signatures[i] = keys[i].sign(HashUtil.sha3(prefixed)).toHex();
+        }
+        signatures[3] = "0x1234";
+
+        final byte[][] addresses = SignatureRecovery.recoverPersonalMessageAddresses(messages, signatures);
+
+        for (int i = 0; i < COUNT; i++) {
+            if (i == 3) {
+                assertThat(addresses[i], is(nullValue()));
+            } else {
+                assertThat(addresses[i], is(keys[i].getAddress()));
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.crypto.util;
+
+
+import com.toshi.crypto.cryptohash.Keccak256;
+
+import org.junit.Test;
+import org.spongycastle.crypto.digests.KeccakDigest;
+import org.spongycastle.util.encoders.Hex;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class HashUtilTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void sha3OfEmptyInputMatchesKnownHash() {
+        final String expected = "c5d2460186f7233c927e7db2dcc703c0e500b653ca82273b7bfad8045d85a470";
+        assertThat(Hex.toHexString(HashUtil.sha3(new byte[0])), is(expected));
+    }
+
+    @Test
+    public void sha3MatchesKeccakDigestAcrossBlockBoundaries() {
+        // The rate of Keccak-256 is 136 bytes
+        for (int length = 0; length < 600; length++) {
+            final byte[] input = randomBytes(length);
+            assertThat(HashUtil.sha3(input), is(reference(input, 0, length)));
+        }
+    }
+
+    @Test
+    public void sha3WithOffsetWritesIntoCallerBuffer() {
+        final byte[] input = randomBytes(300);
+        final byte[] out = new byte[HashUtil.SHA3_LENGTH + 8];
+        HashUtil.sha3(input, 7, 280, out, 4);
+        final byte[] expected = reference(input, 7, 280);
+        assertThat(Arrays.copyOfRange(out, 4, 4 + HashUtil.SHA3_LENGTH), is(expected));
+    }
+
+    @Test
+    public void sha3OfByteBufferMatchesByteArray() {
+        final byte[] input = randomBytes(500);
+        final ByteBuffer direct = ByteBuffer.allocateDirect(input.length);
+        direct.put(input).flip();
+        final byte[] out = new byte[HashUtil.SHA3_LENGTH];
+
+        HashUtil.sha3(direct, out, 0);
+
+        assertThat(out, is(reference(input, 0, input.length)));
+        assertThat(direct.remaining(), is(0));
+    }
+
+    @Test
+    public void reusedEngineMatchesFreshEngine() {
+        final Keccak256 reused = new Keccak256();
+        for (int i = 0; i < 50; i++) {
+            final byte[] input = randomBytes(this.random.nextInt(400));
+            final int split = input.length == 0 ? 0 : this.random.nextInt(input.length);
+            reused.update(input, 0, split);
+            reused.update(input, split, input.length - split);
+            assertThat(reused.digest(), is(new Keccak256().digest(input)));
+        }
+    }
+
+    private byte[] reference(final byte[] input, final int offset, final int length) {
+        final KeccakDigest digest = new KeccakDigest(256);
+        digest.update(input, offset, length);
+        final byte[] out = new byte[32];
+        digest.doFinal(out, 0);
+        return out;
+    }
+
+    private byte[] randomBytes(final int length) {
+        final byte[] bytes = new byte[length];
+        this.random.nextBytes(bytes);
+        return bytes;
+    }
+}
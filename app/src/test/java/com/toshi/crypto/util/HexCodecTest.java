@@ -0,0 +1,159 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.toshi.crypto.util;
+
+import org.junit.Test;
+import org.spongycastle.util.encoders.Hex;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+// Checks the codec against the Hex and BigInteger based conversions it replaced
+public class HexCodecTest {
+
+    private static final int ITERATIONS = 2000;
+    private final Random random = new Random(42);
+
+    @Test
+    public void encodeMatchesSpongyCastleHex() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            final byte[] data = randomBytes();
+            assertThat(HexCodec.encode(data), is(Hex.toHexString(data)));
+            assertThat(TypeConverter.toJsonHex(data), is("0x" + Hex.toHexString(data)));
+            assertThat(ByteUtil.toHexString(data), is(Hex.toHexString(data)));
+        }
+    }
+
+    @Test
+    public void decodeMatchesSpongyCastleHex() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            final String hex = Hex.toHexString(randomBytes());
+            final String mixedCase = random.nextBoolean() ? hex.toUpperCase() : hex;
+            assertThat(TypeConverter.StringHexToByteArray(mixedCase), is(Hex.decode(hex)));
+            assertThat(TypeConverter.StringHexToByteArray("0x" + mixedCase), is(Hex.decode(hex)));
+        }
+    }
+
+    @Test
+    public void decodeOddLengthAddsLeadingZero() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            final String hex = Hex.toHexString(randomBytes()) + "a";
+            assertThat(TypeConverter.StringHexToByteArray("0x" + hex), is(Hex.decode("0" + hex)));
+        }
+    }
+
+    @Test
+    public void decodeIntoCallerBufferWritesAtOffset() {
+        final byte[] out = new byte[6];
+        final int written = HexCodec.decode("0xdeadbeef", out, 1);
+        assertThat(written, is(4));
+        assertThat(out, is(new byte[] {0, (byte) 0xde, (byte) 0xad, (byte) 0xbe, (byte) 0xef, 0}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeRejectsInvalidCharacters() {
+        HexCodec.decode("0x12zz");
+    }
+
+    @Test
+    public void tryDecodeReturnsMinusOneForInvalidCharacters() {
+        assertThat(HexCodec.tryDecode("0x12\u00e9", new byte[2], 0), is(-1));
+    }
+
+    @Test
+    public void stringHexToBigIntegerMatchesBigIntegerParsing() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            final String hex = new BigInteger(random.nextInt(300), random).toString(16);
+            final String input = random.nextBoolean() ? "0x" + hex : hex;
+            assertThat(TypeConverter.StringHexToBigInteger(input), is(referenceStringHexToBigInteger(input)));
+        }
+    }
+
+    @Test
+    public void stringHexToBigIntegerKeepsBehaviourForUnusualInput() {
+        final String[] inputs = {"", "0x", "-ff", "0x-ff", "+1a", "0X1F", "notHex", "0x0x1", "000000"};
+        for (final String input : inputs) {
+            assertThat(input, TypeConverter.StringHexToBigInteger(input), is(referenceStringHexToBigInteger(input)));
+        }
+    }
+
+    @Test
+    public void toJsonHexLongMatchesLongToHexString() {
+        final long[] edges = {0, 1, 15, 16, 255, 256, Long.MAX_VALUE, Long.MIN_VALUE, -1};
+        for (final long value : edges) {
+            assertThat(TypeConverter.toJsonHex(value), is("0x" + Long.toHexString(value)));
+        }
+        for (int i = 0; i < ITERATIONS; i++) {
+            final long value = random.nextLong() >>> random.nextInt(64);
+            assertThat(TypeConverter.toJsonHex(value), is("0x" + Long.toHexString(value)));
+        }
+    }
+
+    @Test
+    public void toJsonHexBigIntegerMatchesBigIntegerToString() {
+        final BigInteger[] edges = {BigInteger.ZERO, BigInteger.ONE, BigInteger.valueOf(16), BigInteger.valueOf(-255)};
+        for (final BigInteger value : edges) {
+            assertThat(TypeConverter.toJsonHex(value), is("0x" + value.toString(16)));
+        }
+        for (int i = 0; i < ITERATIONS; i++) {
+            final BigInteger value = new BigInteger(random.nextInt(300), random);
+            assertThat(TypeConverter.toJsonHex(value), is("0x" + value.toString(16)));
+        }
+    }
+
+    @Test
+    public void toZeroPaddedHexStringMatchesStringPadding() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            final byte[] data = randomBytes();
+            final int size = random.nextInt(100);
+            assertThat(ByteUtil.toZeroPaddedHexString(data, size), is(referenceZeroPaddedHexString(data, size)));
+        }
+    }
+
+    @Test
+    public void oneByteToHexStringMatchesIntegerToString() {
+        for (int i = Byte.MIN_VALUE; i <= Byte.MAX_VALUE; i++) {
+            final String expected = String.format("%02x", i & 0xFF);
+            assertThat(ByteUtil.oneByteToHexString((byte) i), is(expected));
+        }
+    }
+
+    private byte[] randomBytes() {
+        final byte[] data = new byte[random.nextInt(80)];
+        random.nextBytes(data);
+        return data;
+    }
+
+    private static BigInteger referenceStringHexToBigInteger(final String input) {
+        final String hexa = input.startsWith("0x") ? input.substring(2) : input;
+        try {
+            return new BigInteger(hexa, 16);
+        } catch (final NumberFormatException ex) {
+            return BigInteger.ZERO;
+        }
+    }
+
+    private static String referenceZeroPaddedHexString(final byte[] data, final int size) {
+        final StringBuilder sb = new StringBuilder();
+        final String hex = Hex.toHexString(data);
+        while (sb.length() < size - hex.length()) sb.append("0");
+        return sb.append(hex).toString();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.crypto.util;
+
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class RLPViewTest {
+
+    @Test
+    public void viewReadsWhatRLPEncodes() {
+        final byte[] longItem = randomBytes(300);
+        final byte[] encoded = RLP.encode(new Object[] {
+                BigInteger.valueOf(0x7f),
+                BigInteger.valueOf(1024),
+                longItem,
+                new Object[] {"dog", "cat"}
+        });
+
+        final RLPView list = RLPView.decode(encoded);
+
+        assertThat(list.isList(), is(true));
+        assertThat(list.size(), is(4));
+        assertThat(list.getEncodedLength(), is(encoded.length));
+        assertThat(list.get(0).asLong(), is(0x7fL));
+        assertThat(list.get(1).asLong(), is(1024L));
+        assertThat(list.get(2).getBytes(), is(longItem));
+        assertThat(new String(list.get(3).get(1).getBytes()), is("cat"));
+    }
+
+    @Test
+    public void elementsAreViewsOverTheOriginalBuffer() {
+        final byte[] encoded = RLP.encode(new Object[] {"dog", "cat"});
+        final RLPView cat = RLPView.decode(encoded).get(1);
+
+        assertThat(cat.getData() == encoded, is(true));
+        assertThat(Arrays.copyOfRange(encoded, cat.getPayloadOffset(), cat.getPayloadOffset() + cat.getPayloadLength()), is("cat".getBytes()));
+    }
+
+    @Test
+    public void emptyItemIsEmpty() {
+        final RLPView list = RLPView.decode(RLP.encode(new Object[] {"", BigInteger.ZERO}));
+        assertThat(list.get(0).isEmpty(), is(true));
+        assertThat(list.get(1).asBigInteger(), is(BigInteger.ZERO));
+    }
+
+    @Test
+    public void integersOfAnyLengthAreRead() {
+        final BigInteger[] values = {
+                BigInteger.ONE,
+                BigInteger.valueOf(0xff),
+                BigInteger.ONE.shiftLeft(56).subtract(BigInteger.ONE),
+                BigInteger.ONE.shiftLeft(56),
+                BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE),
+                new BigInteger(1, randomBytes(32))
+        };
+        final RLPView list = RLPView.decode(RLP.encode(values));
+        for (int i = 0; i < values.length; i++) {
+            assertThat(list.get(i).asBigInteger(), is(values[i]));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void truncatedDataIsRejected() {
+        final byte[] encoded = RLP.encode(new Object[] {randomBytes(100)});
+        RLPView.decode(Arrays.copyOf(encoded, encoded.length - 1)).size();
+    }
+
+    @Test
+    public void writerMatchesRLPEncode() {
+        final byte[][] items = {new byte[0], new byte[] {0x05}, new byte[] {(byte) 0x80}, randomBytes(55), randomBytes(56), randomBytes(1000)};
+        int payloadLength = 0;
+        for (final byte[] item : items) payloadLength += RLPWriter.itemLength(item);
+
+        final byte[] out = new byte[RLPWriter.listLength(payloadLength)];
+        int position = RLPWriter.writeListHeader(out, 0, payloadLength);
+        for (final byte[] item : items) position = RLPWriter.writeItem(out, position, item);
+
+        assertThat(position, is(out.length));
+        assertThat(out, is(RLP.encodeList(encodeEach(items))));
+    }
+
+    @Test
+    public void writerEncodesIntegersWithoutLeadingZeroes() {
+        final long[] values = {1, 0x7f, 0x80, 0xff, 0x100, Long.MAX_VALUE};
+        for (final long value : values) {
+            final byte[] out = new byte[RLPWriter.itemLength(value)];
+            RLPWriter.writeItem(out, 0, value);
+            assertThat(out, is(RLP.encodeElement(ByteUtil.bigIntegerToBytes(BigInteger.valueOf(value)))));
+        }
+
+        final byte[] zero = new byte[RLPWriter.itemLength(0)];
+        RLPWriter.writeItem(zero, 0, 0);
+        assertThat(zero, is(new byte[] {(byte) 0x80}));
+    }
+
+    private static byte[][] encodeEach(final byte[][] items) {
+        final byte[][] encoded = new byte[items.length][];
+        for (int i = 0; i < items.length; i++) encoded[i] = RLP.encodeElement(items[i]);
+        return encoded;
+    }
+
+    private static byte[] randomBytes(final int length) {
+        final byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
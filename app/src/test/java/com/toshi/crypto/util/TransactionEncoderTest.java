@@ -0,0 +1,72 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.toshi.crypto.util;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class TransactionEncoderTest {
+
+    // The example transaction from EIP-155
+    private static final String UNSIGNED_TRANSACTION = "0xec098504a817c800825208943535353535353535353535353535353535353535880de0b6b3a764000080018080";
+    private static final String SIGNATURE = "0x"
+            + "28ef61340bd939bc2195fe537567866003e1a15d3c71ff63e1590620aa636276"
+            + "67cbe9d8997f761aecb703304b3800ccf555c9f3dc64214b297fb1966a3b6d83"
+            + "00";
+    private static final String SIGNED_TRANSACTION = "0xf86c098504a817c800825208943535353535353535353535353535353535353535880de0b6b3a76400008025a028ef61340bd939bc2195fe537567866003e1a15d3c71ff63e1590620aa636276a067cbe9d8997f761aecb703304b3800ccf555c9f3dc64214b297fb1966a3b6d83";
+
+    @Test
+    public void encodeUnsignedMatchesEip155Example() {
+        final String actual = encodeExample();
+        assertThat(actual, is(UNSIGNED_TRANSACTION));
+    }
+
+    @Test
+    public void encodedTransactionCanBeSignedLikeServerSkeleton() {
+        final String actual = TypeConverter.skeletonAndSignatureToRLPEncodedHex(encodeExample(), SIGNATURE);
+        assertThat(actual, is(SIGNED_TRANSACTION));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void encodeUnsignedRejectsShortAddress() {
+        TransactionEncoder.encodeUnsigned(
+                BigInteger.ONE,
+                BigInteger.ONE,
+                BigInteger.valueOf(21000),
+                "0x3535",
+                BigInteger.ONE,
+                null,
+                1
+        );
+    }
+
+    private String encodeExample() {
+        return TransactionEncoder.encodeUnsigned(
+                BigInteger.valueOf(9),
+                new BigInteger("20000000000"),
+                BigInteger.valueOf(21000),
+                "0x3535353535353535353535353535353535353535",
+                new BigInteger("1000000000000000000"),
+                null,
+                1
+        );
+    }
+}
@@ -87,6 +87,7 @@ public class TypeConverterTest {
         assertThat(expected, is(actual));
     }
 
+    @Test
     public void skeletonAndSignatureToRLPEncodedHexEncodesCorrectly() throws Exception {
         final String expected = "0xf8af85746f6b6682832dc6c0832dc6c094dc0a63a5bdb165640661709569816bf08594dfd780b844a9059cbb0000000000000000000000002278562760cf038cb33b7b405c295a4c50db4fdd00000000000000000000000000000000000000000000000000000002540be40082010ca0a343b0140fb8497e86a37e3b4a8329616675cdefed2e3e29654425bd10d749d7a04c22ba969436fced1d5d41d48a1c9e11f059caf54ac5704fa4443ec0aa5cc989";
         final String skeleton = "0xf86d85746f6b6682832dc6c0832dc6c094dc0a63a5bdb165640661709569816bf08594dfd780b844a9059cbb0000000000000000000000002278562760cf038cb33b7b405c295a4c50db4fdd00000000000000000000000000000000000000000000000000000002540be400748080";
@@ -94,4 +95,24 @@ public class TypeConverterTest {
         final String actual = TypeConverter.skeletonAndSignatureToRLPEncodedHex(skeleton, signature);
         assertThat(actual, is(expected));
     }
+
+    @Test
+    public void skeletonAndSignatureToRLPEncodedHexHandlesMultiByteChainId() throws Exception {
+        // nonce 1, gas price 1, gas 21000, to, value 1, no data, chain id 1337
+        final String skeleton = "0xe1010182520894dc0a63a5bdb165640661709569816bf08594dfd70180820539" + "8080";
+        final String signature = "0x" + repeat("11", 32) + repeat("22", 32) + "01";
+        final String actual = TypeConverter.skeletonAndSignatureToRLPEncodedHex(skeleton, signature);
+
+        final RLPView transaction = RLPView.decode(TypeConverter.StringHexToByteArray(actual));
+        assertThat(transaction.size(), is(9));
+        assertThat(transaction.get(6).asLong(), is(35L + 1337 * 2 + 1));
+        assertThat(transaction.get(7).asBigInteger(), is(new BigInteger(repeat("11", 32), 16)));
+        assertThat(transaction.get(8).asBigInteger(), is(new BigInteger(repeat("22", 32), 16)));
+    }
+
+    private static String repeat(final String value, final int times) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) builder.append(value);
+        return builder.toString();
+    }
 }
@@ -0,0 +1,123 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager;
+
+import android.content.SharedPreferences;
+
+import com.toshi.model.network.ExchangeRate;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import rx.Single;
+import rx.subjects.PublishSubject;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ExchangeRateCacheTest {
+
+    private final List<ExchangeRate> fetchedRates = new ArrayList<>();
+    private PublishSubject<ExchangeRate> pendingRequest;
+    private long now = 0;
+    private ExchangeRateCache cache;
+
+    @Before
+    public void setup() {
+        final SharedPreferences prefs = Mockito.mock(SharedPreferences.class, Mockito.RETURNS_DEEP_STUBS);
+        this.cache = new ExchangeRateCache(this::fetchRate, prefs, () -> this.now);
+    }
+
+    private Single<ExchangeRate> fetchRate(final String code) {
+        final ExchangeRate rate = new ExchangeRate();
+        this.fetchedRates.add(rate);
+        if (this.pendingRequest == null) return Single.just(rate);
+        return this.pendingRequest.toSingle();
+    }
+
+    private ExchangeRate get() {
+        return this.cache.get("USD").toBlocking().value();
+    }
+
+    @Test
+    public void freshRateIsReturnedWithoutFetching() {
+        final ExchangeRate rate = get();
+        this.now = TimeUnit.MINUTES.toMillis(4);
+        assertThat(get(), is(sameInstance(rate)));
+        assertThat(this.fetchedRates.size(), is(1));
+    }
+
+    @Test
+    public void staleRateIsReturnedWhileRefreshing() {
+        final ExchangeRate rate = get();
+        this.now = TimeUnit.MINUTES.toMillis(6);
+        assertThat(get(), is(sameInstance(rate)));
+        assertThat(this.fetchedRates.size(), is(2));
+        assertThat(get(), is(sameInstance(this.fetchedRates.get(1))));
+    }
+
+    @Test
+    public void expiredRateIsFetchedAgain() {
+        get();
+        this.now = TimeUnit.HOURS.toMillis(25);
+        assertThat(get(), is(sameInstance(this.fetchedRates.get(1))));
+    }
+
+    @Test
+    public void rateFromTheFutureIsRefreshed() {
+        this.now = TimeUnit.MINUTES.toMillis(10);
+        get();
+        this.now = 0;
+        get();
+        assertThat(this.fetchedRates.size(), is(2));
+    }
+
+    @Test
+    public void refreshReplacesFreshRate() {
+        get();
+        final List<ExchangeRate> observedRates = new ArrayList<>();
+        this.cache.observe("USD").subscribe(observedRates::add);
+        this.cache.refresh("USD");
+        assertThat(this.fetchedRates.size(), is(2));
+        assertThat(get(), is(sameInstance(this.fetchedRates.get(1))));
+        assertThat(observedRates.size(), is(2));
+        assertThat(observedRates.get(1), is(sameInstance(this.fetchedRates.get(1))));
+    }
+
+    @Test
+    public void concurrentFetchesShareRequest() {
+        this.pendingRequest = PublishSubject.create();
+        final List<ExchangeRate> results = new ArrayList<>();
+        this.cache.get("USD").subscribe(results::add);
+        this.cache.get("USD").subscribe(results::add);
+        assertThat(this.fetchedRates.size(), is(1));
+
+        final ExchangeRate rate = new ExchangeRate();
+        this.pendingRequest.onNext(rate);
+        this.pendingRequest.onCompleted();
+        assertThat(results.size(), is(2));
+        assertThat(results.get(0), is(sameInstance(rate)));
+        assertThat(results.get(1), is(sameInstance(rate)));
+    }
+}
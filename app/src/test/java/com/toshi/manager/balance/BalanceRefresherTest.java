@@ -0,0 +1,125 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.balance;
+
+import com.toshi.model.network.Balance;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import rx.Single;
+import rx.subjects.PublishSubject;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class BalanceRefresherTest {
+
+    private final List<PublishSubject<Balance>> pendingRequests = new ArrayList<>();
+    private final List<Balance> handledBalances = new ArrayList<>();
+    private long now = 0;
+    private int completedCount = 0;
+    private int failedCount = 0;
+    private final BalanceRefresher refresher = new BalanceRefresher(
+            this::fetchBalance,
+            this.handledBalances::add,
+            () -> this.now
+    );
+
+    private Single<Balance> fetchBalance() {
+        final PublishSubject<Balance> request = PublishSubject.create();
+        this.pendingRequests.add(request);
+        return request.toSingle();
+    }
+
+    private void refresh(final long maxAgeMs) {
+        this.refresher
+                .refresh(maxAgeMs)
+                .subscribe(
+                        () -> this.completedCount++,
+                        __ -> this.failedCount++
+                );
+    }
+
+    private void completeRequest(final int index) {
+        final PublishSubject<Balance> request = this.pendingRequests.get(index);
+        request.onNext(new Balance());
+        request.onCompleted();
+    }
+
+    @Test
+    public void onlyOneRequestIsInFlight() {
+        refresh(0);
+        refresh(0);
+        assertThat(this.pendingRequests.size(), is(1));
+        assertThat(this.refresher.getMetrics().getRequestCount(), is(1L));
+    }
+
+    @Test
+    public void triggersDuringRequestShareOneTrailingRequest() {
+        refresh(0);
+        refresh(0);
+        refresh(0);
+        refresh(0);
+        assertThat(this.refresher.getMetrics().getCoalescedCount(), is(2L));
+
+        completeRequest(0);
+        assertThat(this.pendingRequests.size(), is(2));
+        assertThat(this.completedCount, is(1));
+
+        completeRequest(1);
+        assertThat(this.pendingRequests.size(), is(2));
+        assertThat(this.completedCount, is(4));
+        assertThat(this.handledBalances.size(), is(2));
+    }
+
+    @Test
+    public void trailingRequestStartsAfterFailure() {
+        refresh(0);
+        refresh(0);
+        this.pendingRequests.get(0).onError(new RuntimeException());
+        assertThat(this.pendingRequests.size(), is(2));
+        assertThat(this.failedCount, is(1));
+        assertThat(this.refresher.getMetrics().getFailedCount(), is(1L));
+    }
+
+    @Test
+    public void freshBalanceIsNotRequestedAgain() {
+        refresh(1000);
+        completeRequest(0);
+        this.now = 999;
+        refresh(1000);
+        assertThat(this.pendingRequests.size(), is(1));
+        assertThat(this.refresher.getMetrics().getSkippedCount(), is(1L));
+        assertThat(this.completedCount, is(2));
+
+        this.now = 1000;
+        refresh(1000);
+        assertThat(this.pendingRequests.size(), is(2));
+    }
+
+    @Test
+    public void zeroMaxAgeAlwaysRequests() {
+        refresh(0);
+        completeRequest(0);
+        refresh(0);
+        assertThat(this.pendingRequests.size(), is(2));
+    }
+}
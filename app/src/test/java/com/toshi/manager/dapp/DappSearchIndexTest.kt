@@ -0,0 +1,75 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.dapp
+
+import com.toshi.model.network.dapp.Dapp
+import org.hamcrest.CoreMatchers.`is`
+import org.junit.Assert.assertThat
+import org.junit.Test
+
+class DappSearchIndexTest {
+
+    private val categories = mapOf(1 to "Games", 2 to "Marketplaces")
+    private val dapps = listOf(
+            createDapp(1, "CryptoKitties", "Collect and race digital cats", listOf(1)),
+            createDapp(2, "Kitty Race", "Race your crypto cats", listOf(1)),
+            createDapp(3, "Token Market", "Trade tokens with other users", listOf(2)),
+            createDapp(4, "Ether Auction", "Bid on rare items", listOf(2))
+    )
+    private val index = DappSearchIndex(dapps, categories)
+
+    private fun createDapp(id: Long, name: String, description: String, categories: List<Int>): Dapp {
+        return Dapp(id, name, "https://$id.example", description, null, null, categories)
+    }
+
+    private fun search(query: String) = index.search(query).map { it.dappId }
+
+    @Test
+    fun matchesWordPrefixesInNames() {
+        assertThat(search("auc"), `is`(listOf(4L)))
+    }
+
+    @Test
+    fun matchesDescriptionsAndCategories() {
+        assertThat(search("trade"), `is`(listOf(3L)))
+        assertThat(search("marketplaces"), `is`(listOf(4L, 3L)))
+    }
+
+    @Test
+    fun requiresEveryQueryWordToMatch() {
+        assertThat(search("race kitty"), `is`(listOf(2L)))
+        assertThat(search("race tokens"), `is`(emptyList()))
+    }
+
+    @Test
+    fun ranksNameMatchesFirst() {
+        assertThat(search("race"), `is`(listOf(2L, 1L)))
+        assertThat(search("crypto"), `is`(listOf(1L, 2L)))
+        assertThat(search("cats"), `is`(listOf(1L, 2L)))
+    }
+
+    @Test
+    fun ignoresCaseAndPunctuation() {
+        assertThat(search("  ETHER-auction! "), `is`(listOf(4L)))
+    }
+
+    @Test
+    fun returnsNothingForBlankQuery() {
+        assertThat(search(" "), `is`(emptyList()))
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.network;
+
+import com.toshi.model.network.ServerTime;
+
+import org.junit.Test;
+
+import rx.Single;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ServerClockTest {
+
+    private static final long MINUTE_MS = 1000 * 60;
+
+    private long now = 0;
+    private int fetchCount = 0;
+    private final ServerClock serverClock = new ServerClock(this::fetchTimestamp, () -> this.now);
+
+    private Single<ServerTime> fetchTimestamp() {
+        this.fetchCount++;
+        return Single.just(new ServerTime(1000));
+    }
+
+    private long getTimestamp() {
+        return this.serverClock.getTimestamp().toBlocking().value().get();
+    }
+
+    @Test
+    public void fetchedOffsetIsReused() {
+        assertThat(getTimestamp(), is(1000L));
+        this.now = 5000;
+        assertThat(getTimestamp(), is(1005L));
+        assertThat(this.fetchCount, is(1));
+    }
+
+    @Test
+    public void oldOffsetIsFetchedAgain() {
+        getTimestamp();
+        this.now = 61 * MINUTE_MS;
+        getTimestamp();
+        assertThat(this.fetchCount, is(2));
+    }
+
+    @Test
+    public void dateHeaderSetsOffset() {
+        this.serverClock.learnFromDateHeader(2_000_000, 0, 0);
+        assertThat(getTimestamp(), is(2000L));
+        assertThat(this.fetchCount, is(0));
+    }
+
+    @Test
+    public void dateHeaderUsesRoundTripMidpoint() {
+        this.now = 4000;
+        this.serverClock.learnFromDateHeader(2_000_000, 0, 4000);
+        assertThat(getTimestamp(), is(2002L));
+    }
+
+    @Test
+    public void dateHeaderWithinToleranceKeepsOffset() {
+        this.serverClock.learnFromDateHeader(2_000_000, 0, 0);
+        this.serverClock.learnFromDateHeader(2_001_900, 0, 0);
+        assertThat(getTimestamp(), is(2000L));
+    }
+
+    @Test
+    public void dateHeaderWithinToleranceRenewsOffset() {
+        this.serverClock.learnFromDateHeader(2_000_000, 0, 0);
+        this.now = 55 * MINUTE_MS;
+        this.serverClock.learnFromDateHeader(2_000_000 + this.now, this.now, this.now);
+        this.now = 62 * MINUTE_MS;
+        assertThat(getTimestamp(), is(2000L + 62 * 60));
+        assertThat(this.fetchCount, is(0));
+    }
+
+    @Test
+    public void dateHeaderOutsideToleranceReplacesOffset() {
+        this.serverClock.learnFromDateHeader(2_000_000, 0, 0);
+        this.serverClock.learnFromDateHeader(2_010_000, 0, 0);
+        assertThat(getTimestamp(), is(2010L));
+    }
+
+    @Test
+    public void resetForcesFetch() {
+        this.serverClock.learnFromDateHeader(2_000_000, 0, 0);
+        this.serverClock.reset();
+        assertThat(getTimestamp(), is(1000L));
+        assertThat(this.fetchCount, is(1));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.transaction
+
+import com.toshi.crypto.util.TransactionEncoder
+import com.toshi.crypto.util.TypeConverter
+import com.toshi.model.network.TransactionRequest
+import com.toshi.model.network.UnsignedTransaction
+import org.hamcrest.CoreMatchers.`is`
+import org.hamcrest.CoreMatchers.nullValue
+import org.junit.Assert.assertThat
+import org.junit.Test
+import java.math.BigInteger
+
+class LocalTransactionBuilderTest {
+
+    private val from = "0x1111111111111111111111111111111111111111"
+    private val to = "0x3535353535353535353535353535353535353535"
+    private val request = TransactionRequest("0x1", from, to)
+    private val gasPrice = BigInteger.valueOf(20000000000L)
+    private val gas = BigInteger.valueOf(21000)
+
+    private var now = 0L
+    private val builder = LocalTransactionBuilder(NonceTracker({ now }), GasPriceCache({ now }), { "1" })
+
+    private fun skeleton(nonce: Long): UnsignedTransaction {
+        val nonceValue = BigInteger.valueOf(nonce)
+        val transaction = TransactionEncoder.encodeUnsigned(nonceValue, gasPrice, gas, to, BigInteger.ONE, null, 1)
+        return UnsignedTransaction(
+                transaction,
+                TypeConverter.toJsonHex(gas),
+                TypeConverter.toJsonHex(gasPrice),
+                TypeConverter.toJsonHex(nonceValue),
+                "0x1"
+        )
+    }
+
+    private fun builtNonce() = builder.buildTransaction(request)?.nonce
+
+    @Test
+    fun buildsFromLearntSkeleton() {
+        builder.learnFromSkeleton(request, skeleton(4))
+        val transaction = builder.buildTransaction(request)
+        assertThat(transaction?.transaction, `is`(skeleton(4).transaction))
+    }
+
+    @Test
+    fun lowerServerNonceReplacesLocalNonce() {
+        builder.learnFromSkeleton(request, skeleton(4))
+        // A transaction with nonce 4 was accepted, then dropped from the mempool
+        builder.learnFromSkeleton(request, skeleton(5))
+        val local = builder.buildTransaction(request)!!
+        assertThat(local.nonce, `is`("0x5"))
+
+        builder.verify(request, local, skeleton(4))
+
+        assertThat(builtNonce(), `is`("0x4"))
+    }
+
+    @Test
+    fun lowerNonceFromSkeletonAloneExpires() {
+        builder.learnFromSkeleton(request, skeleton(5))
+        now = 1000L * 60 * 9
+        builder.learnFromSkeleton(request, skeleton(4))
+        assertThat(builtNonce(), `is`("0x5"))
+
+        now = 1000L * 60 * 11
+        assertThat(builtNonce(), `is`(nullValue()))
+    }
+
+    @Test
+    fun higherServerNonceIsLearntOnVerify() {
+        builder.learnFromSkeleton(request, skeleton(4))
+        val local = builder.buildTransaction(request)!!
+
+        builder.verify(request, local, skeleton(6))
+
+        assertThat(builtNonce(), `is`("0x6"))
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.transaction
+
+import org.hamcrest.CoreMatchers.`is`
+import org.hamcrest.CoreMatchers.nullValue
+import org.junit.Assert.assertThat
+import org.junit.Test
+import java.math.BigInteger
+
+class NonceTrackerTest {
+
+    private val key = "1:0xabc"
+    private var now = 0L
+    private val tracker = NonceTracker({ now })
+
+    @Test
+    fun neverMovesBackwards() {
+        tracker.learnNextNonce(key, BigInteger.valueOf(5))
+        tracker.learnNextNonce(key, BigInteger.valueOf(3))
+        assertThat(tracker.getNextNonce(key), `is`(BigInteger.valueOf(5)))
+    }
+
+    @Test
+    fun lowerNonceDoesNotRenewEntry() {
+        tracker.learnNextNonce(key, BigInteger.valueOf(5))
+        now = 1000L * 60 * 9
+        tracker.learnNextNonce(key, BigInteger.valueOf(3))
+        now = 1000L * 60 * 11
+        assertThat(tracker.getNextNonce(key), `is`(nullValue()))
+    }
+
+    @Test
+    fun sameNonceRenewsEntry() {
+        tracker.learnNextNonce(key, BigInteger.valueOf(5))
+        now = 1000L * 60 * 9
+        tracker.learnNextNonce(key, BigInteger.valueOf(5))
+        now = 1000L * 60 * 11
+        assertThat(tracker.getNextNonce(key), `is`(BigInteger.valueOf(5)))
+    }
+
+    @Test
+    fun resetTakesLowerNonce() {
+        tracker.onTransactionSent(key, BigInteger.valueOf(7))
+        tracker.resetNextNonce(key, BigInteger.valueOf(6))
+        assertThat(tracker.getNextNonce(key), `is`(BigInteger.valueOf(6)))
+    }
+
+    @Test
+    fun invalidateForgetsNonce() {
+        tracker.learnNextNonce(key, BigInteger.valueOf(5))
+        tracker.invalidate(key)
+        assertThat(tracker.getNextNonce(key), `is`(nullValue()))
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.manager.transaction
+
+import com.toshi.model.local.PendingTransaction
+import com.toshi.model.sofa.SofaType
+import com.toshi.model.sofa.payment.Payment
+import org.hamcrest.CoreMatchers.`is`
+import org.junit.Assert.assertThat
+import org.junit.Test
+import rx.Single
+import rx.schedulers.TestScheduler
+import rx.subjects.PublishSubject
+import java.util.concurrent.TimeUnit
+
+class PendingTransactionPollerTest {
+
+    private val scheduler = TestScheduler()
+    private val pollTimes = ArrayList<Long>()
+    private val pendingRequests = HashMap<String, PublishSubject<Payment>>()
+    private val updatedTransactions = ArrayList<String>()
+    private var status = SofaType.UNCONFIRMED
+    private var isHoldingRequests = false
+
+    private val poller = PendingTransactionPoller(
+            { getTransactionStatus(it) },
+            { pendingTransaction, _ -> updatedTransactions.add(pendingTransaction.txHash) },
+            scheduler,
+            { scheduler.now() }
+    )
+
+    private fun getTransactionStatus(txHash: String): Single<Payment> {
+        pollTimes.add(scheduler.now())
+        if (!isHoldingRequests) return Single.just(Payment().setStatus(status))
+        val request = PublishSubject.create<Payment>()
+        pendingRequests.put(txHash, request)
+        return request.toSingle()
+    }
+
+    private fun complete(txHash: String, status: String) {
+        val request = pendingRequests.remove(txHash) ?: return
+        request.onNext(Payment().setStatus(status))
+        request.onCompleted()
+        scheduler.triggerActions()
+    }
+
+    private fun track(txHash: String) {
+        poller.track(PendingTransaction().setTxHash(txHash))
+        scheduler.triggerActions()
+    }
+
+    private fun intervalAfter(ageMs: Long): Long {
+        val pollTime = pollTimes.first { it >= ageMs }
+        return pollTimes[pollTimes.indexOf(pollTime) + 1] - pollTime
+    }
+
+    @Test
+    fun pollsLessOftenAsTransactionAges() {
+        track("0x1")
+        scheduler.advanceTimeBy(2, TimeUnit.HOURS)
+        assertThat(intervalAfter(TimeUnit.MINUTES.toMillis(1)), `is`(TimeUnit.SECONDS.toMillis(5)))
+        assertThat(intervalAfter(TimeUnit.MINUTES.toMillis(5)), `is`(TimeUnit.SECONDS.toMillis(15)))
+        assertThat(intervalAfter(TimeUnit.MINUTES.toMillis(30)), `is`(TimeUnit.MINUTES.toMillis(1)))
+        assertThat(intervalAfter(TimeUnit.MINUTES.toMillis(90)), `is`(TimeUnit.MINUTES.toMillis(5)))
+    }
+
+    @Test
+    fun stopsPollingAfterOneDay() {
+        track("0x1")
+        scheduler.advanceTimeBy(2, TimeUnit.DAYS)
+        val lastPollTime = pollTimes.last()
+        assertThat(lastPollTime > TimeUnit.DAYS.toMillis(1), `is`(true))
+        assertThat(lastPollTime <= TimeUnit.DAYS.toMillis(1) + TimeUnit.MINUTES.toMillis(5), `is`(true))
+    }
+
+    @Test
+    fun stopsPollingOnFinalStatus() {
+        status = SofaType.CONFIRMED
+        track("0x1")
+        scheduler.advanceTimeBy(1, TimeUnit.MINUTES)
+        assertThat(pollTimes.size, `is`(1))
+        assertThat(updatedTransactions, `is`(listOf("0x1")))
+    }
+
+    @Test
+    fun ignoresResultOfUntrackedTransaction() {
+        isHoldingRequests = true
+        track("0x1")
+        poller.untrack("0x1")
+        complete("0x1", SofaType.CONFIRMED)
+        scheduler.advanceTimeBy(1, TimeUnit.MINUTES)
+        assertThat(pollTimes.size, `is`(1))
+        assertThat(updatedTransactions.isEmpty(), `is`(true))
+    }
+
+    @Test
+    fun limitsConcurrentRequests() {
+        isHoldingRequests = true
+        listOf("0x1", "0x2", "0x3", "0x4", "0x5").forEach { track(it) }
+        assertThat(pollTimes.size, `is`(3))
+        complete(pendingRequests.keys.first(), SofaType.CONFIRMED)
+        assertThat(pollTimes.size, `is`(4))
+    }
+
+    @Test
+    fun keepsPollingWhenUpdateFails() {
+        val failingPoller = PendingTransactionPoller(
+                { getTransactionStatus(it) },
+                { pendingTransaction, _ ->
+                    updatedTransactions.add(pendingTransaction.txHash)
+                    throw IllegalStateException()
+                },
+                scheduler,
+                { scheduler.now() }
+        )
+        status = SofaType.CONFIRMED
+        failingPoller.track(PendingTransaction().setTxHash("0x1"))
+        scheduler.triggerActions()
+        failingPoller.track(PendingTransaction().setTxHash("0x2"))
+        scheduler.triggerActions()
+        assertThat(updatedTransactions, `is`(listOf("0x1", "0x2")))
+    }
+}
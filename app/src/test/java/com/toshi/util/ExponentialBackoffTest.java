@@ -0,0 +1,51 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.toshi.util;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ExponentialBackoffTest {
+
+    @Test
+    public void delayDoublesUpToMax() {
+        final ExponentialBackoff backoff = new ExponentialBackoff(100, 500);
+        assertThat(backoff.next(), is(100L));
+        assertThat(backoff.next(), is(200L));
+        assertThat(backoff.next(), is(400L));
+        assertThat(backoff.next(), is(500L));
+        assertThat(backoff.next(), is(500L));
+    }
+
+    @Test
+    public void resetStartsFromInitialDelay() {
+        final ExponentialBackoff backoff = new ExponentialBackoff(100, 500);
+        backoff.next();
+        backoff.next();
+        backoff.reset();
+        assertThat(backoff.peek(), is(100L));
+        assertThat(backoff.next(), is(100L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxDelayBelowInitialDelayIsRejected() {
+        new ExponentialBackoff(500, 100);
+    }
+}
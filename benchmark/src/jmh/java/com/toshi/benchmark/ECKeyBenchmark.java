@@ -0,0 +1,103 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.toshi.benchmark;
+
+
+import com.toshi.crypto.ECKey;
+import com.toshi.crypto.SignatureRecovery;
+import com.toshi.crypto.util.HashUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigInteger;
+import java.security.SignatureException;
+import java.util.Arrays;
+
+@State(Scope.Thread)
+public class ECKeyBenchmark {
+
+    private static final int BATCH_SIZE = 10000;
+
+    private ECKey key;
+    private byte[] messageHash;
+    private ECKey.ECDSASignature signature;
+    private byte[][] batchHashes;
+    private ECKey.ECDSASignature[] batchSignatures;
+
+    @Setup
+    public void setup() {
+        this.key = ECKey.fromPrivate(new BigInteger("4646464646464646464646464646464646464646464646464646464646464646", 16));
+        this.messageHash = HashUtil.sha3(new byte[] {1, 2, 3});
+        this.signature = this.key.sign(this.messageHash);
+
+        this.batchHashes = new byte[BATCH_SIZE][];
+        this.batchSignatures = new ECKey.ECDSASignature[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            this.batchHashes[i] = HashUtil.sha3(BigInteger.valueOf(i).toByteArray());
+            this.batchSignatures[i] = this.key.sign(this.batchHashes[i]);
+        }
+    }
+
+    @Benchmark
+    public ECKey.ECDSASignature sign() {
+        return this.key.sign(this.messageHash);
+    }
+
+    // Baseline: sign, then find the recovery id by recovering each candidate key, as sign() did
+    // before the id was derived from the nonce point
+    @Benchmark
+    public int signWithRecoveryLoop() {
+        final ECKey.ECDSASignature signature = this.key.doSign(this.messageHash);
+        final byte[] expectedKey = this.key.getPubKey();
+        for (int recId = 0; recId < 4; recId++) {
+            final byte[] recoveredKey = ECKey.recoverPubBytesFromSignature(recId, signature, this.messageHash);
+            if (recoveredKey != null && Arrays.equals(recoveredKey, expectedKey)) return recId;
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return this.key.verify(this.messageHash, this.signature);
+    }
+
+    @Benchmark
+    public byte[] recoverAddress() throws SignatureException {
+        return ECKey.signatureToAddress(this.messageHash, this.signature);
+    }
+
+    // Baseline for the batch: the same signatures recovered one at a time
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public byte[][] recoverAddressesSequential() throws SignatureException {
+        final byte[][] addresses = new byte[BATCH_SIZE][];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            addresses[i] = ECKey.signatureToAddress(this.batchHashes[i], this.batchSignatures[i]);
+        }
+        return addresses;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public byte[][] recoverAddressesBatch() {
+        return SignatureRecovery.recoverAddresses(this.batchHashes, this.batchSignatures);
+    }
+}
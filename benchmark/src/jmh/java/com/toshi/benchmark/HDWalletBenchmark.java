@@ -0,0 +1,72 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.toshi.benchmark;
+
+
+import com.toshi.crypto.ECKey;
+import com.toshi.crypto.hdshim.EthereumKeyChainGroup;
+
+import org.bitcoinj.core.NetworkParameters;
+import org.bitcoinj.crypto.DeterministicKey;
+import org.bitcoinj.wallet.DeterministicSeed;
+import org.bitcoinj.wallet.KeyChain;
+import org.bitcoinj.wallet.UnreadableWalletException;
+import org.bitcoinj.wallet.Wallet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// HDWallet needs SharedPreferences and the Android keystore, so this runs the same derivation steps
+// HDWallet takes when it has to derive its keys from the master seed.
+@State(Scope.Thread)
+public class HDWalletBenchmark {
+
+    private static final String MASTER_SEED = "abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon about";
+
+    private NetworkParameters networkParameters;
+    private DeterministicKey paymentAccountKey;
+    private int index;
+
+    @Setup
+    public void setup() throws UnreadableWalletException {
+        this.networkParameters = NetworkParameters.fromID(NetworkParameters.ID_MAINNET);
+        this.paymentAccountKey = EthereumKeyChainGroup.getPaymentAccountKey(createWallet());
+    }
+
+    // Seed to identity key, payment key and payment account key, as on a cold start without the key cache
+    @Benchmark
+    public DeterministicKey deriveKeysFromSeed() throws UnreadableWalletException {
+        final Wallet wallet = createWallet();
+        ECKey.fromPrivate(wallet.freshKey(KeyChain.KeyPurpose.AUTHENTICATION).getPrivKey());
+        ECKey.fromPrivate(wallet.freshKey(KeyChain.KeyPurpose.RECEIVE_FUNDS).getPrivKey());
+        return EthereumKeyChainGroup.getPaymentAccountKey(wallet);
+    }
+
+    // One payment address from the payment account key, as HDWallet.getPaymentAddress(index) does
+    @Benchmark
+    public byte[] derivePaymentAddress() {
+        this.index = (this.index + 1) & 0xffff;
+        final DeterministicKey childKey = EthereumKeyChainGroup.derivePaymentKey(this.paymentAccountKey, this.index);
+        return ECKey.fromPrivate(childKey.getPrivKey()).getAddress();
+    }
+
+    private Wallet createWallet() throws UnreadableWalletException {
+        final DeterministicSeed seed = new DeterministicSeed(MASTER_SEED, null, "", 0);
+        return new Wallet(this.networkParameters, new EthereumKeyChainGroup(this.networkParameters, seed));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.toshi.benchmark;
+
+
+import com.toshi.crypto.cryptohash.Keccak256;
+import com.toshi.crypto.util.HashUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.spongycastle.crypto.digests.KeccakDigest;
+
+import java.util.Random;
+
+@State(Scope.Thread)
+public class Keccak256Benchmark {
+
+    // A hash, a signed transaction and a large contract payload
+    @Param({"32", "256", "4096"})
+    public int size;
+
+    private byte[] input;
+    private final byte[] out = new byte[HashUtil.SHA3_LENGTH];
+    private final KeccakDigest keccakDigest = new KeccakDigest(256);
+
+    @Setup
+    public void setup() {
+        this.input = new byte[this.size];
+        new Random(1).nextBytes(this.input);
+    }
+
+    @Benchmark
+    public byte[] sha3() {
+        return HashUtil.sha3(this.input);
+    }
+
+    @Benchmark
+    public byte[] sha3IntoBuffer() {
+        HashUtil.sha3(this.input, 0, this.input.length, this.out, 0);
+        return this.out;
+    }
+
+    // Baseline: an engine allocated for every hash, as HashUtil did before it reused them
+    @Benchmark
+    public byte[] freshEngine() {
+        final Keccak256 digest = new Keccak256();
+        digest.update(this.input);
+        return digest.digest();
+    }
+
+    // Baseline: spongycastle's Keccak implementation
+    @Benchmark
+    public byte[] spongyCastleKeccakDigest() {
+        this.keccakDigest.update(this.input, 0, this.input.length);
+        this.keccakDigest.doFinal(this.out, 0);
+        return this.out;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.toshi.benchmark;
+
+
+import com.toshi.crypto.util.RLP;
+import com.toshi.crypto.util.RLPList;
+import com.toshi.crypto.util.RLPView;
+import com.toshi.crypto.util.TransactionEncoder;
+import com.toshi.crypto.util.TypeConverter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigInteger;
+
+@State(Scope.Thread)
+public class RLPBenchmark {
+
+    private static final BigInteger NONCE = BigInteger.valueOf(9);
+    private static final BigInteger GAS_PRICE = BigInteger.valueOf(20000000000L);
+    private static final BigInteger GAS = BigInteger.valueOf(21000);
+    private static final String TO_ADDRESS = "0x3535353535353535353535353535353535353535";
+    private static final BigInteger VALUE = new BigInteger("1000000000000000000");
+
+    // A token transfer, as the server returns it
+    private static final String SKELETON = "0xf86d85746f6b6682832dc6c0832dc6c094dc0a63a5bdb165640661709569816bf08594dfd780b844a9059cbb0000000000000000000000002278562760cf038cb33b7b405c295a4c50db4fdd00000000000000000000000000000000000000000000000000000002540be400748080";
+
+    private byte[] transaction;
+
+    @Setup
+    public void setup() {
+        this.transaction = TypeConverter.StringHexToByteArray(SKELETON);
+    }
+
+    @Benchmark
+    public byte[] encodeList() {
+        return RLP.encodeList(
+                RLP.encodeBigInteger(NONCE),
+                RLP.encodeBigInteger(GAS_PRICE),
+                RLP.encodeBigInteger(GAS),
+                RLP.encodeElement(TypeConverter.StringHexToByteArray(TO_ADDRESS)),
+                RLP.encodeBigInteger(VALUE),
+                RLP.encodeElement(new byte[0]),
+                RLP.encodeInt(1),
+                RLP.encodeElement(new byte[0]),
+                RLP.encodeElement(new byte[0]));
+    }
+
+    @Benchmark
+    public String encodeUnsignedTransaction() {
+        return TransactionEncoder.encodeUnsigned(NONCE, GAS_PRICE, GAS, TO_ADDRESS, VALUE, null, 1);
+    }
+
+    @Benchmark
+    public RLPList decode() {
+        return RLP.decode2(this.transaction);
+    }
+
+    @Benchmark
+    public long decodeView() {
+        final RLPView list = RLPView.decode(this.transaction);
+        return list.get(0).asLong() + list.get(6).asLong();
+    }
+}
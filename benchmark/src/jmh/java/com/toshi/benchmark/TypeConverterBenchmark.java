@@ -0,0 +1,71 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.toshi.benchmark;
+
+
+import com.toshi.crypto.util.TypeConverter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+@State(Scope.Thread)
+public class TypeConverterBenchmark {
+
+    private static final String SKELETON = "0xf86d85746f6b6682832dc6c0832dc6c094dc0a63a5bdb165640661709569816bf08594dfd780b844a9059cbb0000000000000000000000002278562760cf038cb33b7b405c295a4c50db4fdd00000000000000000000000000000000000000000000000000000002540be400748080";
+    private static final String SIGNATURE = "0xa343b0140fb8497e86a37e3b4a8329616675cdefed2e3e29654425bd10d749d74c22ba969436fced1d5d41d48a1c9e11f059caf54ac5704fa4443ec0aa5cc98901";
+    private static final BigInteger BALANCE = new BigInteger("1234567890123456789012");
+
+    private byte[] bytes;
+    private String hex;
+
+    @Setup
+    public void setup() {
+        this.bytes = new byte[256];
+        new Random(1).nextBytes(this.bytes);
+        this.hex = TypeConverter.toJsonHex(this.bytes);
+    }
+
+    @Benchmark
+    public String bytesToHex() {
+        return TypeConverter.toJsonHex(this.bytes);
+    }
+
+    @Benchmark
+    public byte[] hexToBytes() {
+        return TypeConverter.StringHexToByteArray(this.hex);
+    }
+
+    @Benchmark
+    public String bigIntegerToHex() {
+        return TypeConverter.toJsonHex(BALANCE);
+    }
+
+    @Benchmark
+    public BigInteger hexToBigInteger() {
+        return TypeConverter.StringHexToBigInteger(SIGNATURE);
+    }
+
+    @Benchmark
+    public String skeletonAndSignatureToRLPEncodedHex() {
+        return TypeConverter.skeletonAndSignatureToRLPEncodedHex(SKELETON, SIGNATURE);
+    }
+}
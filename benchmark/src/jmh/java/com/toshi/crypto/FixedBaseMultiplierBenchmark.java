@@ -0,0 +1,73 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.toshi.crypto;
+
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.spongycastle.math.ec.ECMultiplier;
+import org.spongycastle.math.ec.ECPoint;
+import org.spongycastle.math.ec.FixedPointCombMultiplier;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+// In com.toshi.crypto because FixedBaseMultiplier is package-private.
+// Compares multiplications of the generator, which signing and key derivation are made of.
+@State(Scope.Thread)
+public class FixedBaseMultiplierBenchmark {
+
+    private static final int SCALARS = 1024;
+
+    private final ECPoint g = ECKey.CURVE.getG();
+    private final ECMultiplier comb = new FixedPointCombMultiplier();
+    private final ECMultiplier table = new FixedBaseMultiplier(this.g, ECKey.CURVE.getN().bitLength());
+    private BigInteger[] scalars;
+    private int index;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(1);
+        final BigInteger n = ECKey.CURVE.getN();
+        this.scalars = new BigInteger[SCALARS];
+        for (int i = 0; i < SCALARS; i++) this.scalars[i] = new BigInteger(256, random).mod(n);
+        // Builds the table outside the measurement
+        this.table.multiply(this.g, BigInteger.ONE);
+    }
+
+    @Benchmark
+    public ECPoint generic() {
+        return this.g.multiply(nextScalar()).normalize();
+    }
+
+    @Benchmark
+    public ECPoint comb() {
+        return this.comb.multiply(this.g, nextScalar()).normalize();
+    }
+
+    @Benchmark
+    public ECPoint table() {
+        return this.table.multiply(this.g, nextScalar()).normalize();
+    }
+
+    private BigInteger nextScalar() {
+        this.index = (this.index + 1) & (SCALARS - 1);
+        return this.scalars[this.index];
+    }
+}
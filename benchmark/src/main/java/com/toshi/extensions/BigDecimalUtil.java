@@ -14,18 +14,19 @@
  *     You should have received a copy of the GNU General Public License
  *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
+package com.toshi.extensions;
 
-package com.toshi.manager.network.image;
 
-import com.bumptech.glide.load.model.*;
+import java.math.BigDecimal;
 
-public class ForceLoadGlideUrl extends GlideUrl {
-    private static final Headers FORCE_ETAG_CHECK = new LazyHeaders.Builder()
-            // Force server side validation for the ETAG
-            .addHeader("Cache-Control", "max-age=0")
-            .build();
+// JVM stand-in for BigDecimalExtensions.kt, so this module doesn't need the Kotlin plugin.
+public class BigDecimalUtil {
 
-    public ForceLoadGlideUrl(String url) {
-        super(url, FORCE_ETAG_CHECK);
+    public static BigDecimal createSafeBigDecimal(final String inputValue) {
+        try {
+            return new BigDecimal(inputValue.replace(",", "."));
+        } catch (final NumberFormatException e) {
+            return BigDecimal.ZERO;
+        }
     }
 }
@@ -0,0 +1,34 @@
+/*
+ * 	Copyright (c) 2017. Toshi Inc
+ *
+ * 	This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.toshi.util;
+
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+
+// JVM stand-in for the app's CurrencyUtil, which logs through the Android logger.
+public class CurrencyUtil {
+
+    public static DecimalFormat getNumberFormatWithOutGrouping() {
+        final DecimalFormat numberFormat = (DecimalFormat) DecimalFormat.getCurrencyInstance(LocaleUtil.getLocale());
+        final DecimalFormatSymbols symbols = numberFormat.getDecimalFormatSymbols();
+        symbols.setCurrencySymbol("");
+        numberFormat.setDecimalFormatSymbols(symbols);
+        numberFormat.setGroupingUsed(false);
+        return numberFormat;
+    }
+}
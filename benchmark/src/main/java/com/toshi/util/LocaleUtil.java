@@ -14,17 +14,20 @@
  *     You should have received a copy of the GNU General Public License
  *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
+package com.toshi.util;
 
-package com.toshi.manager.network.interceptor;
 
-import com.toshi.util.logging.LogUtil;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
 
-import okhttp3.logging.HttpLoggingInterceptor;
+// JVM stand-in for the app's LocaleUtil, which reads the locale from the Android configuration.
+public class LocaleUtil {
 
+    public static Locale getLocale() {
+        return Locale.US;
+    }
 
-public class LoggingInterceptor implements HttpLoggingInterceptor.Logger {
-    @Override
-    public void log(final String message) {
-        LogUtil.print(message);
+    public static DecimalFormatSymbols getDecimalFormatSymbols() {
+        return new DecimalFormatSymbols(getLocale());
     }
 }